@@ -1,14 +1,23 @@
 import org.gradle.api.tasks.testing.TestDescriptor
 import org.gradle.api.tasks.testing.TestResult
 import org.gradle.api.tasks.testing.logging.TestLogEvent
+import org.springframework.boot.gradle.tasks.run.BootRun
 
 plugins {
     java
     id("org.springframework.boot") version "3.5.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
     jacoco
 }
 
+// Fast-startup build mode (./gradlew -PfastStartup ...): adds Spring AOT processing to the build, so the jar
+// carries pre-generated bean definitions that are used when run with -Dspring.aot.enabled=true
+val fastStartup = providers.gradleProperty("fastStartup").isPresent
+if (fastStartup) {
+    apply(plugin = "org.springframework.boot.aot")
+}
+
 group = "com.showscape"
 version = "0.0.1-SNAPSHOT"
 
@@ -37,16 +46,105 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
+    implementation("org.springframework.boot:spring-boot-starter-graphql")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.google.protobuf:protobuf-java:4.29.3")
+    // Checkpoint/restore hooks; inert unless the JVM supports CRaC
+    implementation("org.crac:crac")
     compileOnly("org.projectlombok:lombok")
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.springframework.graphql:spring-graphql-test")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+// Two entry points share one jar; the servlet application is the default
+springBoot {
+    mainClass.set("com.showscape.movieservice.MovieServiceApplication")
+}
+
+// Runs the reactive read-only stack (WebFlux over R2DBC) instead of the servlet application
+tasks.register<BootRun>("bootRunReactive") {
+    group = "application"
+    description = "Runs the reactive read-only movie service."
+    mainClass.set("com.showscape.movieservice.reactive.ReactiveMovieServiceApplication")
+    classpath = sourceSets["main"].runtimeClasspath
+}
+
+// Fast startup: CDS archive and CRaC checkpoint, both taken from a training run of the extracted jar.
+// Training runs start the full application context, so they need the database to be reachable.
+val fastStartupDir = layout.buildDirectory.dir("fast-startup")
+val extractedJar = fastStartupDir.map { it.file("application/${project.name}-${project.version}.jar") }
+val javaLauncher = javaToolchains.launcherFor(java.toolchain)
+
+// Unpacks the boot jar into an application jar plus lib/, the layout CDS needs
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "fast startup"
+    description = "Extracts the boot jar into build/fast-startup/application."
+    dependsOn(tasks.bootJar)
+    inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+    outputs.dir(fastStartupDir.map { it.dir("application") })
+    doFirst {
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+    }
+    args("-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        "extract", "--force", "--destination", fastStartupDir.get().dir("application").asFile.absolutePath)
+}
+
+// Records the classes loaded up to the end of context refresh into a CDS archive, then exits
+tasks.register<Exec>("cdsArchive") {
+    group = "fast startup"
+    description = "Creates build/fast-startup/application/application.jsa from a training run."
+    dependsOn(extractBootJar)
+    workingDir(fastStartupDir.map { it.dir("application") })
+    doFirst {
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+    }
+    args(listOfNotNull(
+        "-XX:ArchiveClassesAtExit=application.jsa",
+        "-Dspring.context.exit=onRefresh",
+        if (fastStartup) "-Dspring.aot.enabled=true" else null,
+        "-jar", extractedJar.get().asFile.name))
+}
+
+// Checkpoints the JVM once the context has refreshed. Needs a CRaC-enabled JDK, given with -PcracJavaHome
+// when the toolchain is not one; the JVM exits with a non-zero status once the checkpoint is written.
+tasks.register<Exec>("cracCheckpoint") {
+    group = "fast startup"
+    description = "Writes a CRaC checkpoint to build/fast-startup/crac from a training run."
+    dependsOn(extractBootJar)
+    workingDir(fastStartupDir.map { it.dir("application") })
+    isIgnoreExitValue = true
+    val cracJavaHome = providers.gradleProperty("cracJavaHome")
+    val checkpointDir = fastStartupDir.map { it.dir("crac") }
+    doFirst {
+        executable = if (cracJavaHome.isPresent) {
+            file(cracJavaHome.get()).resolve("bin/java").absolutePath
+        } else {
+            javaLauncher.get().executablePath.asFile.absolutePath
+        }
+        delete(checkpointDir)
+    }
+    args(listOfNotNull(
+        "-XX:CRaCCheckpointTo=${checkpointDir.get().asFile.absolutePath}",
+        "-Dspring.context.checkpoint=onRefresh",
+        if (fastStartup) "-Dspring.aot.enabled=true" else null,
+        "-jar", extractedJar.get().asFile.name))
+    doLast {
+        if (checkpointDir.get().asFile.listFiles().isNullOrEmpty()) {
+            throw GradleException("No CRaC checkpoint was written; is ${executable} a CRaC-enabled JVM?")
+        }
+    }
+}
+
 // Configure test logging and summary
 tasks.withType<Test>().configureEach {
     useJUnitPlatform()
@@ -83,6 +181,13 @@ tasks.withType<Test>().configureEach {
     })
 }
 
+// Microbenchmarks live in src/jmh/java; run with ./gradlew jmh
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test) // Ensure tests are run before report generation
     reports {
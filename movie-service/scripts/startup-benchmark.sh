@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+# Compares startup time and time to first request of the movie service across launch modes:
+#
+#   jar   java -jar build/libs/movie-service-*.jar
+#   cds   the extracted jar with the CDS archive from ./gradlew cdsArchive
+#   aot   as cds, plus -Dspring.aot.enabled=true (needs a jar built with -PfastStartup)
+#   crac  restore from the checkpoint written by ./gradlew cracCheckpoint (needs a CRaC-enabled JDK)
+#
+# Modes whose artifacts are missing are skipped. The database must be running, as for ./gradlew bootRun.
+#
+# Usage: scripts/startup-benchmark.sh [mode...]
+# Environment: RUNS (default 5), PORT (default 8080; a CRaC checkpoint keeps the port it was taken with),
+#              JAVA (default java), CRAC_JAVA (default $JAVA)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+JAVA=${JAVA:-java}
+CRAC_JAVA=${CRAC_JAVA:-$JAVA}
+FIRST_REQUEST_URL="http://localhost:${PORT}/api/movies/years"
+TIMEOUT_SECONDS=120
+
+BOOT_JAR=$(ls build/libs/movie-service-*.jar 2>/dev/null | grep -v -- '-plain.jar$' | head -n 1 || true)
+APP_DIR=build/fast-startup/application
+APP_JAR=${BOOT_JAR:+$APP_DIR/$(basename "$BOOT_JAR")}
+CDS_ARCHIVE=$APP_DIR/application.jsa
+CRAC_DIR=build/fast-startup/crac
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+now_millis() {
+  date +%s%3N
+}
+
+# Prints why a mode cannot run, or nothing if it can
+missing_artifacts() {
+  case $1 in
+    jar) [[ -n $BOOT_JAR ]] || echo "no boot jar; run ./gradlew bootJar" ;;
+    cds) [[ -f $CDS_ARCHIVE ]] || echo "no CDS archive; run ./gradlew cdsArchive" ;;
+    aot)
+      if [[ ! -f $CDS_ARCHIVE ]]; then
+        echo "no CDS archive; run ./gradlew -PfastStartup cdsArchive"
+      elif ! unzip -l "$APP_JAR" | grep -q '__ApplicationContextInitializer'; then
+        echo "jar has no AOT classes; run ./gradlew -PfastStartup cdsArchive"
+      fi
+      ;;
+    crac) [[ -d $CRAC_DIR ]] || echo "no checkpoint; run ./gradlew cracCheckpoint" ;;
+    *) echo "unknown mode" ;;
+  esac
+}
+
+# Runs in a background subshell, which exec replaces with the JVM so that its pid is the JVM's
+start() {
+  case $1 in
+    jar) exec "$JAVA" -jar "$BOOT_JAR" --server.port="$PORT" ;;
+    cds) cd "$APP_DIR" && exec "$JAVA" -XX:SharedArchiveFile=application.jsa -jar "$(basename "$APP_JAR")" \
+            --server.port="$PORT" ;;
+    aot) cd "$APP_DIR" && exec "$JAVA" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+            -jar "$(basename "$APP_JAR")" --server.port="$PORT" ;;
+    crac) exec "$CRAC_JAVA" -XX:CRaCRestoreFrom="$CRAC_DIR" ;;
+  esac
+}
+
+# Runs a mode once and prints "<startup seconds> <first request millis>"
+run_once() {
+  local mode=$1 started pid deadline
+  started=$(now_millis)
+  start "$mode" >"$LOG" 2>&1 &
+  pid=$!
+  deadline=$((started + TIMEOUT_SECONDS * 1000))
+  until curl -sf -o /dev/null "$FIRST_REQUEST_URL"; do
+    if ! kill -0 "$pid" 2>/dev/null || (($(now_millis) > deadline)); then
+      kill "$pid" 2>/dev/null || true
+      echo "$mode: no response from $FIRST_REQUEST_URL; log:" >&2
+      tail -n 20 "$LOG" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  local first_request=$(($(now_millis) - started))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  # Spring logs "Started ..." after a cold start and "Restored ..." after a CRaC restore
+  local startup
+  startup=$(grep -oE '(Started|Restored) MovieServiceApplication in [0-9.]+ seconds' "$LOG" \
+      | grep -oE '[0-9.]+' | head -n 1)
+  echo "${startup:-?} $first_request"
+}
+
+modes=("$@")
+((${#modes[@]})) || modes=(jar cds aot crac)
+
+printf '%-6s %18s %26s\n' mode "startup (s, mean)" "first request (ms, mean)"
+for mode in "${modes[@]}"; do
+  reason=$(missing_artifacts "$mode")
+  if [[ -n $reason ]]; then
+    printf '%-6s skipped: %s\n' "$mode" "$reason"
+    continue
+  fi
+  results=()
+  for ((run = 0; run < RUNS; run++)); do
+    results+=("$(run_once "$mode")")
+  done
+  printf '%s\n' "${results[@]}" | awk -v mode="$mode" '
+    $1 != "?" { startup += $1; timed++ }
+    { first += $2; runs++ }
+    END { printf "%-6s %18s %26.0f\n", mode, timed ? sprintf("%.3f", startup / timed) : "?", first / runs }'
+done
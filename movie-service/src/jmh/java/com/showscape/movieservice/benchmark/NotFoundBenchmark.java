@@ -0,0 +1,92 @@
+package com.showscape.movieservice.benchmark;
+
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.service.LongBloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of turning a lookup of an unknown movie into a 404 body.
+ * <p>
+ * {@code stackTraceErrorBody} is the previous path: an exception that fills in its stack trace {@code depth}
+ * frames below the handler, and a body with a timestamp and a map of fields. {@code stacklessProblemDetail} is the
+ * current path. {@code idFilterLookup} is the check that lets most unknown IDs skip the database entirely. Run with
+ * {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundBenchmark {
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private LongBloomFilter idFilter;
+
+    @Setup
+    public void setUp() {
+        idFilter = new LongBloomFilter(200_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            idFilter.put(id);
+        }
+    }
+
+    @Benchmark
+    public Object stackTraceErrorBody() {
+        long id = unknownId();
+        try {
+            throwAt(depth, () -> new RuntimeException("Movie not found with id: " + id));
+            return null;
+        } catch (RuntimeException e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("status", HttpStatus.NOT_FOUND.value());
+            body.put("error", HttpStatus.NOT_FOUND.getReasonPhrase());
+            body.put("message", e.getMessage());
+            return body;
+        }
+    }
+
+    @Benchmark
+    public Object stacklessProblemDetail() {
+        long id = unknownId();
+        try {
+            throwAt(depth, () -> new MovieNotFoundException(id));
+            return null;
+        } catch (MovieNotFoundException e) {
+            return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public boolean idFilterLookup() {
+        return idFilter.mightContain(unknownId());
+    }
+
+    private static long unknownId() {
+        return ThreadLocalRandom.current().nextLong(100_001, 10_000_000);
+    }
+
+    // Recurses so the exception is created as far below the catch as a real request's service call
+    private static void throwAt(int frames, Supplier<RuntimeException> exception) {
+        if (frames == 0) {
+            throw exception.get();
+        }
+        throwAt(frames - 1, exception);
+    }
+}
@@ -0,0 +1,73 @@
+package com.showscape.movieservice.benchmark;
+
+import com.showscape.movieservice.service.SeatMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures hold-and-release throughput of buyers competing for the seats of a single showtime.
+ * <p>
+ * Every buyer picks a few adjacent seats at random, holds them and releases them again. The {@code held} and
+ * {@code unavailable} auxiliary counters show how often a buyer lost the race for its seats. Rerun with
+ * {@code -t} to see how throughput scales with the number of buyers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class SeatHoldBenchmark {
+
+    @Param({"200", "2000"})
+    public int capacity;
+
+    @Param({"1", "4"})
+    public int seatsPerHold;
+
+    private SeatMap seatMap;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long held;
+        public long unavailable;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            held = 0;
+            unavailable = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seatMap = new SeatMap(capacity, new long[0]);
+    }
+
+    @Benchmark
+    public boolean holdAndRelease(Outcomes outcomes) {
+        int first = ThreadLocalRandom.current().nextInt(capacity - seatsPerHold + 1);
+        int[] seats = new int[seatsPerHold];
+        for (int seat = 0; seat < seatsPerHold; seat++) {
+            seats[seat] = first + seat;
+        }
+        if (!seatMap.tryTake(seats)) {
+            outcomes.unavailable++;
+            return false;
+        }
+        outcomes.held++;
+        seatMap.release(seats);
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package com.showscape.movieservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.protobuf.MovieProtobufCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encode and decode cost, and payload size, of a movie list in each supported wire format.
+ * <p>
+ * The {@code payloadBytes} auxiliary counter reports the encoded size alongside the timings. Allocation rates
+ * are available by adding {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final String[] GENRES = {"Action", "Comedy", "Drama", "Horror", "Sci-Fi", "Thriller"};
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    public String format;
+
+    private List<MovieResponse> movies;
+    private ObjectMapper mapper;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(MovieResponse.builder()
+                    .id((long) i + 1)
+                    .title("Movie " + i)
+                    .description("A film about " + Long.toHexString(random.nextLong()) + " and what happened next.")
+                    .releaseDate(LocalDate.of(1950 + random.nextInt(75), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .genre(GENRES[random.nextInt(GENRES.length)])
+                    .rating(Math.round(random.nextDouble(10) * 10) / 10.0)
+                    .build());
+        }
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().addModule(new JavaTimeModule()).build();
+            case "smile" -> SmileMapper.builder().addModule(new JavaTimeModule()).build();
+            case "cbor" -> CBORMapper.builder().addModule(new JavaTimeModule()).build();
+            default -> null;
+        };
+        encoded = serialize();
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws IOException {
+        byte[] bytes = serialize();
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<MovieResponse> decode() throws IOException {
+        if (mapper == null) {
+            return MovieProtobufCodec.readMovieList(CodedInputStream.newInstance(encoded));
+        }
+        return mapper.readValue(encoded, mapper.getTypeFactory().constructCollectionType(List.class, MovieResponse.class));
+    }
+
+    private byte[] serialize() throws IOException {
+        if (mapper != null) {
+            return mapper.writeValueAsBytes(movies);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        MovieProtobufCodec.writeMovieList(movies, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
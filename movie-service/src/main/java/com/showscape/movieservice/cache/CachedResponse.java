@@ -0,0 +1,21 @@
+package com.showscape.movieservice.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response body as it went out on the wire, held both uncompressed and gzip-compressed.
+ *
+ * @param contentType    the negotiated {@code Content-Type}
+ * @param headers        the other headers set while producing the response, such as CORS headers
+ * @param identity       the uncompressed body
+ * @param gzip           the gzip-compressed body, or {@code null} if the response was not stored
+ * @param storedAtNanos  the {@link System#nanoTime()} at which the entry was stored
+ */
+public record CachedResponse(
+    String contentType,
+    Map<String, List<String>> headers,
+    byte[] identity,
+    byte[] gzip,
+    long storedAtNanos
+) {}
@@ -0,0 +1,122 @@
+package com.showscape.movieservice.cache;
+
+import com.showscape.movieservice.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds serialized response bodies, already compressed, so hot read endpoints skip Jackson and gzip on a hit.
+ * <p>
+ * Entries are keyed by the catalog version they were produced under. Each committed write bumps the version and
+ * drops every entry, so a response computed before the write can never be stored or served after it. Once
+ * {@code max-entries} are held, storing another evicts the least recently used one.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, CachedResponse> entries;
+
+    public ResponseBodyCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // Access order, so the eldest entry is the least recently used one
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > properties.maxEntries();
+            }
+        });
+        meterRegistry.gaugeMapSize("showscape.response-cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * @return the current catalog version, to be captured before a response is produced
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Returns the entry stored under {@code key}, or {@code null} if there is none or it has expired.
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.storedAtNanos() > properties.ttl().toNanos()) {
+            entries.remove(key, cached);
+            cached = null;
+        }
+        meterRegistry.counter("showscape.response-cache", "outcome", cached != null ? "hit" : "miss").increment();
+        return cached;
+    }
+
+    /**
+     * Compresses a freshly produced body and stores it, unless the catalog has changed since {@code producedAt}.
+     * A body that will not be stored is not compressed.
+     *
+     * @param producedAt the {@link #version()} captured before the response was produced
+     * @return the entry to serve for this response
+     */
+    public CachedResponse put(String key, long producedAt, String contentType, Map<String, List<String>> headers,
+                              byte[] body) {
+        if (producedAt != version.get()) {
+            return new CachedResponse(contentType, headers, body, null, System.nanoTime());
+        }
+        CachedResponse cached = new CachedResponse(contentType, headers, body, gzip(body), System.nanoTime());
+        entries.put(key, cached);
+        // A write may have committed between the check and the put
+        if (producedAt != version.get()) {
+            entries.remove(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Invalidates every entry once the surrounding transaction commits, or immediately outside a transaction.
+     */
+    public void invalidate() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion();
+                }
+            });
+        } else {
+            bumpVersion();
+        }
+    }
+
+    private void bumpVersion() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+}
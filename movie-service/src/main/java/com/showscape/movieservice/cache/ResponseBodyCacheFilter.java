@@ -0,0 +1,149 @@
+package com.showscape.movieservice.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves cacheable {@code GET} responses from the {@link ResponseBodyCache}, and fills it on a miss.
+ * <p>
+ * A hit writes the stored bytes straight to the socket: gzip when the client accepts it, identity otherwise.
+ * Responses are keyed by path, the query parameters the cached endpoints read, {@code Accept} and {@code Origin},
+ * so each negotiated format and each CORS origin gets its own entry. Other query parameters are left out of the
+ * key, and the values of each key parameter are sorted, so {@code ?fields=title,id&x=1} and {@code ?fields=id,title}
+ * share an entry.
+ */
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    // Recomputed for every response rather than replayed
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.VARY.toLowerCase(), HttpHeaders.DATE.toLowerCase(), CACHE_HEADER.toLowerCase());
+
+    private final ResponseBodyCache cache;
+    private final List<String> paths;
+    private final List<String> keyParameters;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseBodyCacheFilter(ResponseBodyCache cache, List<String> paths, List<String> keyParameters) {
+        this.cache = cache;
+        this.paths = List.copyOf(paths);
+        this.keyParameters = keyParameters.stream().sorted().toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long version = cache.version();
+        String key = key(request, version);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            write(cached, request, response, true);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        cached = cache.put(key, version, wrapper.getContentType(), replayableHeaders(wrapper),
+                wrapper.getContentAsByteArray());
+        write(cached, request, response, false);
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response,
+                       boolean hit) throws IOException {
+        // On a miss the chain has already set these headers on the response
+        if (hit) {
+            cached.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        }
+        response.setContentType(cached.contentType());
+        response.setHeader(HttpHeaders.VARY, "Origin, Accept, Accept-Encoding");
+        response.setHeader(CACHE_HEADER, hit ? "HIT" : "MISS");
+        byte[] body = cached.identity();
+        if (cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzip();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static Map<String, List<String>> replayableHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private String key(HttpServletRequest request, long version) {
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        for (String parameter : keyParameters) {
+            String[] values = request.getParameterValues(parameter);
+            if (values != null) {
+                key.append(parameter).append('=').append(Arrays.stream(values)
+                        .flatMap(value -> Arrays.stream(value.split(",")))
+                        .map(String::trim)
+                        .filter(value -> !value.isEmpty())
+                        .sorted()
+                        .distinct()
+                        .collect(Collectors.joining(","))).append('&');
+            }
+        }
+        return key.append('|').append(nullToEmpty(request.getHeader(HttpHeaders.ACCEPT)))
+                .append('|').append(nullToEmpty(request.getHeader(HttpHeaders.ORIGIN)))
+                .append('|').append(version)
+                .toString();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,32 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for serving catalog reads from an in-memory snapshot instead of PostgreSQL.
+ *
+ * @param enabled      whether reads are served from the snapshot
+ * @param maxStaleness the oldest a snapshot may be, since its last full reload, and still serve reads
+ * @param file         where the snapshot is persisted for fast warm startup
+ */
+@ConfigurationProperties(prefix = "showscape.snapshot")
+public record CatalogSnapshotProperties(
+    boolean enabled,
+    @DefaultValue("5m") Duration maxStaleness,
+    @DefaultValue FileSettings file
+) {
+
+    /**
+     * @param path           the snapshot file; persistence is disabled when unset
+     * @param catchUpOverlap how far before the file's high-water mark the startup catch-up query starts, to cover
+     *                       transactions that were still in flight when the file was written
+     */
+    public record FileSettings(
+        Path path,
+        @DefaultValue("1m") Duration catchUpOverlap
+    ) {}
+}
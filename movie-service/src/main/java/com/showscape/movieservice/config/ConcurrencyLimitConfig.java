@@ -0,0 +1,60 @@
+package com.showscape.movieservice.config;
+
+import com.showscape.movieservice.limiter.AdaptiveConcurrencyLimiter;
+import com.showscape.movieservice.limiter.ConcurrencyBudget;
+import com.showscape.movieservice.limiter.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registers one adaptive concurrency limiter per {@link ConcurrencyBudget} and publishes their state as metrics:
+ * {@code showscape.concurrency.limit}, {@code showscape.concurrency.in-flight} and
+ * {@code showscape.concurrency.rejected}, each tagged with the budget.
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties properties;
+    private final Map<ConcurrencyBudget, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(ConcurrencyBudget.class);
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        for (ConcurrencyBudget budget : ConcurrencyBudget.values()) {
+            ConcurrencyLimitProperties.Budget settings = properties.budget(budget);
+            limiters.put(budget, new AdaptiveConcurrencyLimiter(settings.initialLimit(), settings.minLimit(),
+                    settings.maxLimit(), settings.rttTolerance()));
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.enabled()) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(limiters, properties.retryAfter()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics() {
+        return registry -> limiters.forEach((budget, limiter) -> {
+            String tag = budget.name().toLowerCase();
+            Gauge.builder("showscape.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("budget", tag)
+                    .register(registry);
+            Gauge.builder("showscape.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("budget", tag)
+                    .register(registry);
+            FunctionCounter.builder("showscape.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("budget", tag)
+                    .register(registry);
+        });
+    }
+}
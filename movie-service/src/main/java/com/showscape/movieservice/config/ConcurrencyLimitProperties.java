@@ -0,0 +1,42 @@
+package com.showscape.movieservice.config;
+
+import com.showscape.movieservice.limiter.ConcurrencyBudget;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the per-endpoint adaptive concurrency limits.
+ *
+ * @param enabled    whether requests over the limit are shed
+ * @param retryAfter the {@code Retry-After} hint sent with shed requests
+ * @param budgets    limit bounds for each budget; budgets not listed use {@link Budget#DEFAULT}
+ */
+@ConfigurationProperties(prefix = "showscape.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1s") Duration retryAfter,
+    @DefaultValue Map<ConcurrencyBudget, Budget> budgets
+) {
+
+    /**
+     * @param initialLimit the limit before any latency has been observed
+     * @param minLimit     the limit never drops below this
+     * @param maxLimit     the limit never grows above this
+     * @param rttTolerance how many times the baseline latency is tolerated before the limit shrinks
+     */
+    public record Budget(
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("2.0") double rttTolerance
+    ) {
+        public static final Budget DEFAULT = new Budget(20, 4, 200, 2.0);
+    }
+
+    public Budget budget(ConcurrencyBudget budget) {
+        return budgets.getOrDefault(budget, Budget.DEFAULT);
+    }
+}
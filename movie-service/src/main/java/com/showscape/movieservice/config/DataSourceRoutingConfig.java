@@ -0,0 +1,95 @@
+package com.showscape.movieservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single primary datasource with one that sends read-only transactions to read replicas.
+ * <p>
+ * The lazy proxy defers fetching a physical connection until the first statement, by which time
+ * {@code @Transactional(readOnly = true)} has marked the connection read-only and it can be routed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "showscape.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final long MIN_HIKARI_TIMEOUT_MS = 250;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceRoutingProperties properties,
+                                                             DataSourceProperties dataSourceProperties) {
+        List<DataSourceRoutingProperties.Replica> replicas = properties.replicas();
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        long replicaTimeout = Math.max(MIN_HIKARI_TIMEOUT_MS, properties.healthCheckTimeout().toMillis());
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = replicas.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.getDriverClassName())
+                    .url(replica.url())
+                    .username(replica.username() != null ? replica.username() : dataSourceProperties.getUsername())
+                    .password(replica.password() != null ? replica.password() : dataSourceProperties.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            // Hikari's 30s default would let a hung replica outlive the health check probing it
+            dataSource.setConnectionTimeout(replicaTimeout);
+            dataSource.setValidationTimeout(replicaTimeout);
+            replicaDataSources.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration(ReadYourWritesFilter readYourWritesFilter,
+                                                                                       DataSourceRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(readYourWritesFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setEnabled(!properties.readYourWritesWindow().isZero());
+        return registration;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     ReadYourWritesFilter readYourWritesFilter,
+                                                     DataSourceRoutingProperties properties) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource, readYourWritesFilter, properties.healthCheckTimeout());
+    }
+}
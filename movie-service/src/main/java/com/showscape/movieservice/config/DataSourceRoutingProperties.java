@@ -0,0 +1,30 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for routing read-only transactions to PostgreSQL read replicas.
+ *
+ * @param enabled              whether the routing datasource replaces the single primary datasource
+ * @param replicas             connection settings for each read replica
+ * @param healthCheckTimeout   how long a replica may take to answer a health check
+ * @param readYourWritesWindow how long a client's reads stay on the primary after its own write; zero disables it
+ */
+@ConfigurationProperties(prefix = "showscape.datasource.routing")
+public record DataSourceRoutingProperties(
+    boolean enabled,
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("2s") Duration healthCheckTimeout,
+    @DefaultValue("5s") Duration readYourWritesWindow
+) {
+
+    public record Replica(
+        String url,
+        String username,
+        String password
+    ) {}
+}
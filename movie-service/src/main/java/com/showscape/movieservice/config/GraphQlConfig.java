@@ -0,0 +1,45 @@
+package com.showscape.movieservice.config;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rejects GraphQL queries that are too deep or too expensive before they reach the database.
+ * <p>
+ * Batching bounds the number of queries per nesting level, but not the size of the response: a list of movies,
+ * each with its similar movies, each with their showtimes, multiplies out quickly. Complexity estimates that
+ * size, counting each list field's children as many times as the list is expected to be long.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class GraphQlConfig {
+
+    private final GraphQlProperties properties;
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(properties.maxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(properties.maxComplexity(), fieldComplexityCalculator());
+    }
+
+    private FieldComplexityCalculator fieldComplexityCalculator() {
+        return (environment, childComplexity) -> {
+            if (!(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList)) {
+                return 1 + childComplexity;
+            }
+            Object first = environment.getArguments().get("first");
+            int size = first instanceof Integer count ? Math.max(count, 0) : properties.listMultiplier();
+            return 1 + childComplexity * size;
+        };
+    }
+}
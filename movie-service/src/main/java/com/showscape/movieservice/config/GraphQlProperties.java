@@ -0,0 +1,20 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits on the GraphQL queries the service will execute, checked before any field is resolved.
+ *
+ * @param maxDepth       the deepest field nesting a query may have
+ * @param maxComplexity  the highest complexity score a query may have; each field scores 1 plus its children, and
+ *                       a list field's children count {@code listMultiplier} times, or {@code first} times where it
+ *                       takes that argument
+ * @param listMultiplier the number of elements assumed for a list field of unknown size
+ */
+@ConfigurationProperties(prefix = "showscape.graphql")
+public record GraphQlProperties(
+    @DefaultValue("6") int maxDepth,
+    @DefaultValue("2000") int maxComplexity,
+    @DefaultValue("20") int listMultiplier
+) {}
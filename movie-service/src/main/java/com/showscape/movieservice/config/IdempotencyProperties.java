@@ -0,0 +1,18 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@code Idempotency-Key} store behind {@code POST /api/movies}.
+ *
+ * @param ttl           how long a key is remembered; a retry after this creates a new movie
+ * @param purgeInterval how often expired keys are deleted
+ */
+@ConfigurationProperties(prefix = "showscape.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("10m") Duration purgeInterval
+) {}
@@ -0,0 +1,17 @@
+package com.showscape.movieservice.config;
+
+import com.showscape.movieservice.dto.MovieField;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets controllers bind {@code ?fields=id,title} to a {@code Set<MovieField>} using the JSON property names.
+ */
+@Component
+public class MovieFieldConverter implements Converter<String, MovieField> {
+
+    @Override
+    public MovieField convert(String source) {
+        return MovieField.fromAttributeName(source.trim());
+    }
+}
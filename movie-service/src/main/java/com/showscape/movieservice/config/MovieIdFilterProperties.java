@@ -0,0 +1,21 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for rejecting lookups of unknown movie IDs without a database query.
+ *
+ * @param enabled           whether point reads consult the ID filter first
+ * @param rebuildInterval   how often the filter is rebuilt from the database, and so how long a movie created by
+ *                          another instance can be reported missing by this one
+ * @param falsePositiveRate the share of unknown IDs that still go to the database
+ */
+@ConfigurationProperties(prefix = "showscape.id-filter")
+public record MovieIdFilterProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1m") Duration rebuildInterval,
+    @DefaultValue("0.01") double falsePositiveRate
+) {}
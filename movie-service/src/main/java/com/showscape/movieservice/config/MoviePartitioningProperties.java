@@ -0,0 +1,41 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for keeping the range partitions of a {@code release_date}-partitioned {@code movies} table in place.
+ *
+ * @param enabled     whether partitions are created automatically; requires the {@code partitioned} schema
+ * @param granularity how many release years each partition covers
+ * @param yearsAhead  how many years past the current one to create partitions for in advance
+ */
+@ConfigurationProperties(prefix = "showscape.partitioning")
+public record MoviePartitioningProperties(
+    boolean enabled,
+    @DefaultValue("year") Granularity granularity,
+    @DefaultValue("1") int yearsAhead
+) {
+
+    public enum Granularity {
+        YEAR(1),
+        DECADE(10);
+
+        private final int years;
+
+        Granularity(int years) {
+            this.years = years;
+        }
+
+        public int getYears() {
+            return years;
+        }
+
+        /**
+         * @return the first year of the partition that holds {@code year}
+         */
+        public int startOf(int year) {
+            return Math.floorDiv(year, years) * years;
+        }
+    }
+}
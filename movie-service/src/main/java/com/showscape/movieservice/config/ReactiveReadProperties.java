@@ -0,0 +1,15 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the reactive read stack, started with {@code ReactiveMovieServiceApplication}.
+ *
+ * @param fetchSize rows PostgreSQL sends per round trip while a list is streamed; the next batch is only fetched
+ *                  once the client has consumed the previous one
+ */
+@ConfigurationProperties(prefix = "showscape.reactive")
+public record ReactiveReadProperties(
+    @DefaultValue("256") int fetchSize
+) {}
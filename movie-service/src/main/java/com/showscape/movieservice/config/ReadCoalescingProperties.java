@@ -0,0 +1,16 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for sharing one database query between concurrent identical reads.
+ *
+ * @param maxWait how long a caller waits for an in-flight query before running its own
+ */
+@ConfigurationProperties(prefix = "showscape.coalescing")
+public record ReadCoalescingProperties(
+    @DefaultValue("2s") Duration maxWait
+) {}
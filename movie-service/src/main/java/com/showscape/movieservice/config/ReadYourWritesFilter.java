@@ -0,0 +1,69 @@
+package com.showscape.movieservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pins a client's reads to the primary for a short window after that client's own write,
+ * so it never reads a replica that has not yet caught up with the change.
+ * <p>
+ * Clients are identified by the {@value #CLIENT_ID_HEADER} header, falling back to the remote address.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = clientKey(request);
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (!write && wroteRecently(clientKey)) {
+            ReadYourWritesContext.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+            if (write && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+                lastWriteNanos.put(clientKey, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Drops clients whose read-your-writes window has already closed.
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+    }
+
+    private boolean wroteRecently(String clientKey) {
+        Long writtenAt = lastWriteNanos.get(clientKey);
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null ? clientId : request.getRemoteAddr();
+    }
+}
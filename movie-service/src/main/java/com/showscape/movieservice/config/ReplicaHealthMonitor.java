@@ -0,0 +1,23 @@
+package com.showscape.movieservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Periodically re-checks replica health and forgets clients whose read-your-writes window has closed.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReadYourWritesFilter readYourWritesFilter;
+    private final Duration healthCheckTimeout;
+
+    @Scheduled(fixedDelayString = "${showscape.datasource.routing.health-check-interval:10s}")
+    public void check() {
+        replicaRoutingDataSource.checkReplicaHealth(healthCheckTimeout);
+        readYourWritesFilter.evictExpired();
+    }
+}
@@ -0,0 +1,118 @@
+package com.showscape.movieservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only connections across the healthy read replicas in round-robin order.
+ * <p>
+ * Falls back to the primary when no replica is healthy or when the current request
+ * has been pinned to the primary by {@link ReadYourWritesContext}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY_KEY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ExecutorService healthCheckExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY_KEY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty() || ReadYourWritesContext.isPinnedToPrimary()) {
+            return PRIMARY_KEY;
+        }
+        return candidates.get(Math.floorMod(cursor.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Probes every replica in parallel and keeps only the ones that answer in time in the rotation.
+     * <p>
+     * A replica still unanswered when the timeout elapses counts as unhealthy, so one hung replica
+     * cannot hold the whole check up.
+     *
+     * @param timeout the maximum time to wait for the replicas to answer
+     */
+    public void checkReplicaHealth(Duration timeout) {
+        Map<String, CompletableFuture<Boolean>> probes = new LinkedHashMap<>();
+        replicas.forEach((key, dataSource) -> probes.put(key,
+                CompletableFuture.supplyAsync(() -> isHealthy(dataSource, timeout), healthCheckExecutor)));
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<String> healthy = new ArrayList<>(replicas.size());
+        probes.forEach((key, probe) -> {
+            if (awaitProbe(probe, deadline)) {
+                healthy.add(key);
+            } else {
+                log.warn("Read replica {} failed its health check and was removed from rotation", key);
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    /**
+     * Closes the replica pools, which are owned by this datasource rather than by the application context.
+     */
+    public void close() throws Exception {
+        healthCheckExecutor.shutdownNow();
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean awaitProbe(CompletableFuture<Boolean> probe, long deadline) {
+        try {
+            return probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            return false;
+        }
+    }
+
+    private boolean isHealthy(DataSource dataSource, Duration timeout) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid((int) Math.max(1, timeout.toSeconds()));
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+}
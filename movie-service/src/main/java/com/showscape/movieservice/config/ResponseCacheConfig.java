@@ -0,0 +1,26 @@
+package com.showscape.movieservice.config;
+
+import com.showscape.movieservice.cache.ResponseBodyCache;
+import com.showscape.movieservice.cache.ResponseBodyCacheFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the filter that serves hot read endpoints from the {@link ResponseBodyCache}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "showscape.response-cache", name = "enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseBodyCacheFilter> responseBodyCacheFilterRegistration(
+            ResponseBodyCache responseBodyCache, ResponseCacheProperties properties) {
+        FilterRegistrationBean<ResponseBodyCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseBodyCacheFilter(responseBodyCache, properties.paths(),
+                        properties.keyParameters()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
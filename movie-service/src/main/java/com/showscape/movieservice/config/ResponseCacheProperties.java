@@ -0,0 +1,26 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for caching the serialized, pre-compressed bodies of hot read endpoints.
+ *
+ * @param enabled       whether cacheable responses are stored and replayed
+ * @param paths         Ant-style patterns of the {@code GET} endpoints whose responses are cached
+ * @param keyParameters the query parameters those endpoints read; any other parameter is ignored, so it cannot
+ *                      split one response into many entries
+ * @param ttl           how long an entry is served; bounds how long writes made by other instances go unseen
+ * @param maxEntries    the most responses held at once; the least recently used entry is evicted to make room
+ */
+@ConfigurationProperties(prefix = "showscape.response-cache")
+public record ResponseCacheProperties(
+    boolean enabled,
+    @DefaultValue({"/api/movies/genres", "/api/movies/years", "/api/movies/genre/*"}) List<String> paths,
+    @DefaultValue("fields") List<String> keyParameters,
+    @DefaultValue("1m") Duration ttl,
+    @DefaultValue("1000") int maxEntries
+) {}
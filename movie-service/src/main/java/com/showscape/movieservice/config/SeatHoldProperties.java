@@ -0,0 +1,22 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for in-memory seat holds.
+ *
+ * @param ttl             how long held seats stay reserved before they are released unconfirmed
+ * @param maxSeatsPerHold the most seats one hold may take
+ * @param flushInterval   how often new and ended holds are written to the {@code seat_holds} table
+ * @param sweepInterval   how often expired holds are released
+ */
+@ConfigurationProperties(prefix = "showscape.seat-holds")
+public record SeatHoldProperties(
+    @DefaultValue("10m") Duration ttl,
+    @DefaultValue("10") int maxSeatsPerHold,
+    @DefaultValue("1s") Duration flushInterval,
+    @DefaultValue("5s") Duration sweepInterval
+) {}
@@ -0,0 +1,21 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the precomputed "similar movies" index.
+ *
+ * @param neighbors       how many similar movies are kept per movie, and the most a request can ask for
+ * @param rebuildInterval how often the index is rebuilt from the whole catalog, which picks up writes made by
+ *                        other instances and refreshes document frequencies
+ * @param parallelism     threads used to rebuild the index; defaults to the number of processors
+ */
+@ConfigurationProperties(prefix = "showscape.similarity")
+public record SimilarityProperties(
+    @DefaultValue("50") int neighbors,
+    @DefaultValue("10m") Duration rebuildInterval,
+    Integer parallelism
+) {}
@@ -0,0 +1,21 @@
+package com.showscape.movieservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for aggregating audience votes in memory and flushing them to PostgreSQL.
+ *
+ * @param flushInterval      how often aggregated votes are written; votes accepted since the last write are lost
+ *                           if the process crashes
+ * @param batchSize          how many movies' deltas go into one JDBC batch
+ * @param flushLogRetention  how long applied flush ids are kept to recognise a retried flush
+ */
+@ConfigurationProperties(prefix = "showscape.votes")
+public record VoteProperties(
+    @DefaultValue("1s") Duration flushInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("1d") Duration flushLogRetention
+) {}
@@ -0,0 +1,41 @@
+package com.showscape.movieservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.showscape.movieservice.protobuf.MovieProtobufHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds binary encodings of the API, chosen through the {@code Accept} and {@code Content-Type} headers:
+ * Jackson Smile ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) and protobuf
+ * ({@code application/x-protobuf}). JSON stays first in the converter list, so it remains the default.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    // Built from Boot's ObjectMapper builder so the binary formats share the JSON mapper's settings
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Appended rather than registered as a bean so it never outranks JSON for "Accept: */*"
+        converters.add(new MovieProtobufHttpMessageConverter());
+    }
+}
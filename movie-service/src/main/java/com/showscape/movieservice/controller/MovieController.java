@@ -1,8 +1,20 @@
 package com.showscape.movieservice.controller;
 
+import com.showscape.movieservice.dto.BulkMovieFilter;
+import com.showscape.movieservice.dto.BulkMovieUpdate;
+import com.showscape.movieservice.dto.BulkOperationResult;
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieField;
 import com.showscape.movieservice.dto.MovieRequest;
 import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.dto.VoteRequest;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.limiter.ConcurrencyBudget;
+import com.showscape.movieservice.limiter.ConcurrencyLimited;
+import com.showscape.movieservice.service.MovieCreation;
 import com.showscape.movieservice.service.MovieService;
+import com.showscape.movieservice.service.MovieVoteService;
+import com.showscape.movieservice.service.SimilarMovieService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -10,65 +22,157 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/movies")
 @RequiredArgsConstructor
 public class MovieController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final MovieService movieService;
+    private final MovieVoteService movieVoteService;
+    private final SimilarMovieService similarMovieService;
 
     @PostMapping
-    public ResponseEntity<MovieResponse> createMovie(@Valid @RequestBody MovieRequest movieRequest) {
-        MovieResponse createdMovie = movieService.createMovie(movieRequest);
-        return new ResponseEntity<>(createdMovie, HttpStatus.CREATED);
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
+    public ResponseEntity<MovieResponse> createMovie(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                     @Valid @RequestBody MovieRequest movieRequest) {
+        if (idempotencyKey == null) {
+            MovieResponse createdMovie = movieService.createMovie(movieRequest);
+            return new ResponseEntity<>(createdMovie, HttpStatus.CREATED);
+        }
+        MovieCreation creation = movieService.createMovie(movieRequest, idempotencyKey);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (creation.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(creation.movie());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MovieResponse> getMovieById(@PathVariable Long id) {
-        MovieResponse movie = movieService.getMovieById(id);
+    @ConcurrencyLimited(ConcurrencyBudget.POINT_READ)
+    public ResponseEntity<MovieResponse> getMovieById(@PathVariable Long id,
+                                                      @RequestParam(required = false) Set<MovieField> fields) {
+        MovieResponse movie = isSparse(fields) ? movieService.getMovieById(id, fields) : movieService.getMovieById(id);
         return ResponseEntity.ok(movie);
     }
 
     @GetMapping
-    public ResponseEntity<List<MovieResponse>> getAllMovies() {
-        List<MovieResponse> movies = movieService.getAllMovies();
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<MovieResponse>> getAllMovies(@RequestParam(required = false) Set<MovieField> fields) {
+        List<MovieResponse> movies = isSparse(fields) ? movieService.getAllMovies(fields) : movieService.getAllMovies();
         return ResponseEntity.ok(movies);
     }
 
     @PutMapping("/{id}")
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
     public ResponseEntity<MovieResponse> updateMovie(@PathVariable Long id, @Valid @RequestBody MovieRequest movieRequest) {
         MovieResponse updatedMovie = movieService.updateMovie(id, movieRequest);
         return ResponseEntity.ok(updatedMovie);
     }
 
     @DeleteMapping("/{id}")
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
     public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
         movieService.deleteMovie(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/bulk")
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
+    public ResponseEntity<BulkOperationResult> updateMovies(@RequestParam(required = false) List<Long> ids,
+                                                            @RequestParam(required = false) String genre,
+                                                            @RequestParam(required = false) Integer fromYear,
+                                                            @RequestParam(required = false) Integer toYear,
+                                                            @Valid @RequestBody BulkMovieUpdate update) {
+        int updated = movieService.updateMovies(new BulkMovieFilter(ids, genre, fromYear, toYear), update);
+        return ResponseEntity.ok(new BulkOperationResult(updated));
+    }
+
+    @DeleteMapping("/bulk")
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
+    public ResponseEntity<BulkOperationResult> deleteMovies(@RequestParam(required = false) List<Long> ids,
+                                                            @RequestParam(required = false) String genre,
+                                                            @RequestParam(required = false) Integer fromYear,
+                                                            @RequestParam(required = false) Integer toYear) {
+        int deleted = movieService.deleteMovies(new BulkMovieFilter(ids, genre, fromYear, toYear));
+        return ResponseEntity.ok(new BulkOperationResult(deleted));
+    }
+
+    @PostMapping("/{id}/votes")
+    @ConcurrencyLimited(ConcurrencyBudget.VOTE)
+    public ResponseEntity<VoteSummary> voteForMovie(@PathVariable Long id, @Valid @RequestBody VoteRequest voteRequest) {
+        VoteSummary votes = movieVoteService.vote(id, voteRequest.score());
+        return ResponseEntity.accepted().body(votes);
+    }
+
+    @GetMapping("/{id}/votes")
+    @ConcurrencyLimited(ConcurrencyBudget.POINT_READ)
+    public ResponseEntity<VoteSummary> getMovieVotes(@PathVariable Long id) {
+        VoteSummary votes = movieVoteService.getVotes(id);
+        return ResponseEntity.ok(votes);
+    }
+
+    @GetMapping("/{id}/similar")
+    @ConcurrencyLimited(ConcurrencyBudget.POINT_READ)
+    public ResponseEntity<List<MovieResponse>> getSimilarMovies(@PathVariable Long id,
+                                                                @RequestParam(defaultValue = "10") int n) {
+        List<MovieResponse> movies = similarMovieService.getSimilarMovies(id, n);
+        return ResponseEntity.ok(movies);
+    }
+
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<MovieResponse>> getMoviesByGenre(@PathVariable String genre) {
-        List<MovieResponse> movies = movieService.getMoviesByGenre(genre);
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<MovieResponse>> getMoviesByGenre(@PathVariable String genre,
+                                                                @RequestParam(required = false) Set<MovieField> fields) {
+        List<MovieResponse> movies = isSparse(fields)
+                ? movieService.getMoviesByGenre(genre, fields)
+                : movieService.getMoviesByGenre(genre);
+        return ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/genre")
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<MovieResponse>> getMoviesByGenres(@RequestParam List<String> genres) {
+        List<MovieResponse> movies = movieService.getMoviesByGenres(genres);
         return ResponseEntity.ok(movies);
     }
 
     @GetMapping("/year/{year}")
-    public ResponseEntity<List<MovieResponse>> getMoviesByReleaseYear(@PathVariable int year) {
-        List<MovieResponse> movies = movieService.getMoviesByReleaseYear(year);
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<MovieResponse>> getMoviesByReleaseYear(@PathVariable int year,
+                                                                      @RequestParam(required = false) Set<MovieField> fields) {
+        List<MovieResponse> movies = isSparse(fields)
+                ? movieService.getMoviesByReleaseYear(year, fields)
+                : movieService.getMoviesByReleaseYear(year);
         return ResponseEntity.ok(movies);
     }
 
     @GetMapping("/genres")
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
     public ResponseEntity<List<String>> getDistinctGenres() {
         List<String> genres = movieService.getDistinctGenres();
         return ResponseEntity.ok(genres);
     }
 
+    @GetMapping("/genres/facets")
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<GenreFacet>> getGenreFacets(@RequestParam(required = false) List<String> genres) {
+        List<GenreFacet> facets = movieService.getGenreFacets(genres != null ? genres : List.of());
+        return ResponseEntity.ok(facets);
+    }
+
     @GetMapping("/years")
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
     public ResponseEntity<List<Integer>> getDistinctYears() {
         List<Integer> years = movieService.getDistinctYears();
         return ResponseEntity.ok(years);
     }
+
+    private boolean isSparse(Set<MovieField> fields) {
+        return fields != null && !fields.isEmpty();
+    }
 }
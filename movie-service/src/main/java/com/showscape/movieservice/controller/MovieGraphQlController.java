@@ -0,0 +1,113 @@
+package com.showscape.movieservice.controller;
+
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.service.MovieService;
+import com.showscape.movieservice.service.MovieVoteService;
+import com.showscape.movieservice.service.SeatHoldService;
+import com.showscape.movieservice.service.SimilarMovieService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the GraphQL schema in {@code graphql/schema.graphqls} through the same services as the REST API.
+ * <p>
+ * Fields that need a lookup per movie or showtime are {@link BatchMapping}s: Spring for GraphQL collects every
+ * parent at one level of the response into a DataLoader batch, so a list of 100 movies costs one votes query and
+ * one showtimes query rather than 100 of each.
+ */
+@Controller
+@RequiredArgsConstructor
+public class MovieGraphQlController {
+
+    private final MovieService movieService;
+    private final MovieVoteService movieVoteService;
+    private final SeatHoldService seatHoldService;
+    private final SimilarMovieService similarMovieService;
+
+    @QueryMapping
+    public MovieResponse movie(@Argument Long id) {
+        return movieService.getMovieById(id);
+    }
+
+    @QueryMapping
+    public List<MovieResponse> movies(@Argument List<String> genres, @Argument Integer year) {
+        boolean byGenres = genres != null && !genres.isEmpty();
+        if (year == null) {
+            return byGenres ? movieService.getMoviesByGenres(genres) : movieService.getAllMovies();
+        }
+        List<MovieResponse> movies = movieService.getMoviesByReleaseYear(year);
+        if (!byGenres) {
+            return movies;
+        }
+        return movies.stream()
+                .filter(movie -> movie.genres() != null && movie.genres().containsAll(genres))
+                .toList();
+    }
+
+    @QueryMapping
+    public List<String> genres() {
+        return movieService.getDistinctGenres();
+    }
+
+    @QueryMapping
+    public List<Integer> years() {
+        return movieService.getDistinctYears();
+    }
+
+    @QueryMapping
+    public List<GenreFacet> genreFacets(@Argument List<String> genres) {
+        return movieService.getGenreFacets(genres == null ? List.of() : genres);
+    }
+
+    @BatchMapping(typeName = "Movie")
+    public Map<MovieResponse, VoteSummary> votes(List<MovieResponse> movies) {
+        Map<Long, VoteSummary> votes = movieVoteService.getVotes(movies.stream().map(MovieResponse::id).toList());
+        return byParent(movies, movie -> votes.get(movie.id()));
+    }
+
+    @BatchMapping(typeName = "Movie")
+    public Map<MovieResponse, List<ShowtimeResponse>> showtimes(List<MovieResponse> movies) {
+        Map<Long, List<ShowtimeResponse>> showtimes =
+                seatHoldService.getShowtimesForMovies(movies.stream().map(MovieResponse::id).toList());
+        return byParent(movies, movie -> showtimes.getOrDefault(movie.id(), List.of()));
+    }
+
+    // Served from the in-memory similarity index, so there is nothing to batch
+    @SchemaMapping(typeName = "Movie")
+    public List<MovieResponse> similar(MovieResponse movie, @Argument int first) {
+        return similarMovieService.getSimilarMovies(movie.id(), first);
+    }
+
+    @BatchMapping(typeName = "Showtime")
+    public Map<ShowtimeResponse, MovieResponse> movie(List<ShowtimeResponse> showtimes) {
+        Map<Long, MovieResponse> movies = movieService.getMoviesByIds(
+                        showtimes.stream().map(ShowtimeResponse::movieId).distinct().toList()).stream()
+                .collect(Collectors.toMap(MovieResponse::id, Function.identity()));
+        return byParent(showtimes, showtime -> movies.get(showtime.movieId()));
+    }
+
+    // Parents that resolve to no value are left out, which GraphQL reports as a null field
+    private static <P, V> Map<P, V> byParent(List<P> parents, Function<P, V> value) {
+        Map<P, V> values = new HashMap<>();
+        for (P parent : parents) {
+            V resolved = value.apply(parent);
+            if (resolved != null) {
+                values.put(parent, resolved);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package com.showscape.movieservice.controller;
+
+import com.showscape.movieservice.dto.SeatHoldRequest;
+import com.showscape.movieservice.dto.SeatHoldResponse;
+import com.showscape.movieservice.dto.SeatMapResponse;
+import com.showscape.movieservice.dto.ShowtimeRequest;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.limiter.ConcurrencyBudget;
+import com.showscape.movieservice.limiter.ConcurrencyLimited;
+import com.showscape.movieservice.service.SeatHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/showtimes")
+@RequiredArgsConstructor
+public class ShowtimeController {
+
+    private final SeatHoldService seatHoldService;
+
+    @PostMapping
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
+    public ResponseEntity<ShowtimeResponse> createShowtime(@Valid @RequestBody ShowtimeRequest showtimeRequest) {
+        ShowtimeResponse createdShowtime = seatHoldService.createShowtime(showtimeRequest);
+        return new ResponseEntity<>(createdShowtime, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @ConcurrencyLimited(ConcurrencyBudget.POINT_READ)
+    public ResponseEntity<ShowtimeResponse> getShowtimeById(@PathVariable Long id) {
+        ShowtimeResponse showtime = seatHoldService.getShowtime(id);
+        return ResponseEntity.ok(showtime);
+    }
+
+    @GetMapping
+    @ConcurrencyLimited(ConcurrencyBudget.LIST)
+    public ResponseEntity<List<ShowtimeResponse>> getShowtimesForMovie(@RequestParam Long movieId) {
+        List<ShowtimeResponse> showtimes = seatHoldService.getShowtimesForMovie(movieId);
+        return ResponseEntity.ok(showtimes);
+    }
+
+    @GetMapping("/{id}/seats")
+    @ConcurrencyLimited(ConcurrencyBudget.POINT_READ)
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long id) {
+        SeatMapResponse seatMap = seatHoldService.getSeatMap(id);
+        return ResponseEntity.ok(seatMap);
+    }
+
+    @PostMapping("/{id}/holds")
+    @ConcurrencyLimited(ConcurrencyBudget.SEAT_HOLD)
+    public ResponseEntity<SeatHoldResponse> holdSeats(@PathVariable Long id, @Valid @RequestBody SeatHoldRequest seatHoldRequest) {
+        SeatHoldResponse hold = seatHoldService.holdSeats(id, seatHoldRequest.seats());
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/holds/{holdId}/confirm")
+    @ConcurrencyLimited(ConcurrencyBudget.WRITE)
+    public ResponseEntity<SeatHoldResponse> confirmHold(@PathVariable Long id, @PathVariable UUID holdId) {
+        SeatHoldResponse confirmed = seatHoldService.confirm(id, holdId);
+        return ResponseEntity.ok(confirmed);
+    }
+
+    @DeleteMapping("/{id}/holds/{holdId}")
+    @ConcurrencyLimited(ConcurrencyBudget.SEAT_HOLD)
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id, @PathVariable UUID holdId) {
+        seatHoldService.release(id, holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
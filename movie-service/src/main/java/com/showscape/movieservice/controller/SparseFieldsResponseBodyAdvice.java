@@ -0,0 +1,80 @@
+package com.showscape.movieservice.controller;
+
+import com.showscape.movieservice.dto.MovieField;
+import com.showscape.movieservice.dto.MovieResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes only the selected properties of movies requested with {@code ?fields=}, so unselected fields are left
+ * out of the JSON (and Smile or CBOR) body rather than sent as {@code null}. Full responses are untouched and keep
+ * every property. Protobuf needs no help: unset fields are never encoded.
+ */
+@RestControllerAdvice(assignableTypes = MovieController.class)
+public class SparseFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        Set<MovieField> fields = selectedFields(request);
+        if (fields.isEmpty()) {
+            return;
+        }
+        Object body = bodyContainer.getValue();
+        if (body instanceof MovieResponse movie) {
+            bodyContainer.setValue(select(movie, fields));
+        } else if (body instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof MovieResponse) {
+            bodyContainer.setValue(list.stream().map(movie -> select((MovieResponse) movie, fields)).toList());
+        }
+    }
+
+    private static Set<MovieField> selectedFields(ServerHttpRequest request) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return Set.of();
+        }
+        String[] values = servletRequest.getServletRequest().getParameterValues(FIELDS_PARAMETER);
+        if (values == null) {
+            return Set.of();
+        }
+        // The controller has already rejected unknown names
+        Set<MovieField> fields = EnumSet.noneOf(MovieField.class);
+        Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> fields.add(MovieField.fromAttributeName(name)));
+        return fields;
+    }
+
+    private static Map<String, Object> select(MovieResponse movie, Set<MovieField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (MovieField field : fields) {
+            selected.put(field.getAttributeName(), switch (field) {
+                case ID -> movie.id();
+                case TITLE -> movie.title();
+                case DESCRIPTION -> movie.description();
+                case RELEASE_DATE -> movie.releaseDate();
+                case GENRE -> movie.genre();
+                case GENRES -> movie.genres();
+                case RATING -> movie.rating();
+            });
+        }
+        return selected;
+    }
+}
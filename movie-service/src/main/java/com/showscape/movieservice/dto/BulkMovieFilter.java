@@ -0,0 +1,18 @@
+package com.showscape.movieservice.dto;
+
+import java.util.List;
+
+/**
+ * The movies a bulk update or delete applies to. Every given criterion must match, and at least one is required.
+ *
+ * @param ids      only movies with one of these ids
+ * @param genre    only movies with this genre among their genres
+ * @param fromYear only movies released in or after this year
+ * @param toYear   only movies released in or before this year
+ */
+public record BulkMovieFilter(
+    List<Long> ids,
+    String genre,
+    Integer fromYear,
+    Integer toYear
+) {}
@@ -0,0 +1,18 @@
+package com.showscape.movieservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.List;
+
+/**
+ * The changes a bulk update makes to every matching movie. Fields left {@code null} are not changed.
+ * <p>
+ * Title and release date are not bulk-editable: they form each movie's natural key.
+ */
+public record BulkMovieUpdate(
+    // Replaces each movie's genres, primary first
+    List<@NotBlank(message = "Genres must not be blank") String> genres,
+    @PositiveOrZero(message = "Rating must be positive or zero")
+    Double rating
+) {}
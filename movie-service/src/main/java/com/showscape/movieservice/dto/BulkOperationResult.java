@@ -0,0 +1,5 @@
+package com.showscape.movieservice.dto;
+
+public record BulkOperationResult(
+    int affected
+) {}
@@ -0,0 +1,9 @@
+package com.showscape.movieservice.dto;
+
+/**
+ * A request body field that failed validation, listed under {@code details} in a 400 problem response.
+ */
+public record FieldViolation(
+    String field,
+    String message
+) {}
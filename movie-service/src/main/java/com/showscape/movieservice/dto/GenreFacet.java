@@ -0,0 +1,15 @@
+package com.showscape.movieservice.dto;
+
+import java.util.Comparator;
+
+/**
+ * The number of movies carrying a genre, within some set of movies.
+ */
+public record GenreFacet(
+    String genre,
+    long count
+) {
+
+    public static final Comparator<GenreFacet> MOST_FREQUENT_FIRST =
+            Comparator.comparingLong(GenreFacet::count).reversed().thenComparing(GenreFacet::genre);
+}
@@ -0,0 +1,50 @@
+package com.showscape.movieservice.dto;
+
+import java.util.Arrays;
+
+/**
+ * The {@link MovieResponse} fields a client can select with the {@code fields} query parameter.
+ */
+public enum MovieField {
+    ID("id", true),
+    TITLE("title", true),
+    DESCRIPTION("description", true),
+    RELEASE_DATE("releaseDate", true),
+    GENRE("genre", false),
+    GENRES("genres", false),
+    RATING("rating", true);
+
+    private final String attributeName;
+    private final boolean column;
+
+    MovieField(String attributeName, boolean column) {
+        this.attributeName = attributeName;
+        this.column = column;
+    }
+
+    /**
+     * Returns the JSON property name, which for column fields is also the {@code Movie} entity attribute.
+     */
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    /**
+     * Returns whether the field is a column of the movies table, rather than derived from the movie's genres.
+     */
+    public boolean isColumn() {
+        return column;
+    }
+
+    /**
+     * Resolves a field from its JSON property name.
+     *
+     * @throws IllegalArgumentException if no field has that name
+     */
+    public static MovieField fromAttributeName(String attributeName) {
+        return Arrays.stream(values())
+                .filter(field -> field.attributeName.equals(attributeName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown movie field: " + attributeName));
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Builder;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Builder
 public record MovieRequest(
@@ -18,6 +19,8 @@ public record MovieRequest(
     LocalDate releaseDate,
     @NotBlank(message = "Genre is mandatory")
     String genre,
+    // Further genres after the primary one
+    List<@NotBlank(message = "Genres must not be blank") String> genres,
     @NotNull(message = "Rating is mandatory")
     @PositiveOrZero(message = "Rating must be positive or zero")
     Double rating
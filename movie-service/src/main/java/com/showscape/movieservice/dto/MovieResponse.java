@@ -3,6 +3,7 @@ package com.showscape.movieservice.dto;
 import lombok.Builder;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Builder
 public record MovieResponse(
@@ -11,5 +12,6 @@ public record MovieResponse(
     String description,
     LocalDate releaseDate,
     String genre,
+    List<String> genres,
     Double rating
 ) {}
@@ -0,0 +1,11 @@
+package com.showscape.movieservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record SeatHoldRequest(
+    @NotEmpty(message = "At least one seat is required")
+    List<@NotNull(message = "Seats must not be null") Integer> seats
+) {}
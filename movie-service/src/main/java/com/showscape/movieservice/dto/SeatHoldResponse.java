@@ -0,0 +1,17 @@
+package com.showscape.movieservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SeatHoldResponse(
+    UUID holdId,
+    Long showtimeId,
+    List<Integer> seats,
+    // Absent once the hold is confirmed
+    Instant expiresAt,
+    boolean confirmed
+) {}
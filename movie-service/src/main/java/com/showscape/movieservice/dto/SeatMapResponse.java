@@ -0,0 +1,11 @@
+package com.showscape.movieservice.dto;
+
+import java.util.List;
+
+public record SeatMapResponse(
+    Long showtimeId,
+    int seatRows,
+    int seatsPerRow,
+    // Held or sold seats, numbered row by row from 0
+    List<Integer> takenSeats
+) {}
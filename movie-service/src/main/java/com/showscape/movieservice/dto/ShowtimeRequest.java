@@ -0,0 +1,29 @@
+package com.showscape.movieservice.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record ShowtimeRequest(
+    @NotNull(message = "Movie id is mandatory")
+    Long movieId,
+    @NotNull(message = "Start time is mandatory")
+    @Future(message = "Start time must be in the future")
+    Instant startsAt,
+    @NotBlank(message = "Auditorium is mandatory")
+    String auditorium,
+    @NotNull(message = "Seat rows are mandatory")
+    @Min(value = 1, message = "Seat rows must be between 1 and 100")
+    @Max(value = 100, message = "Seat rows must be between 1 and 100")
+    Integer seatRows,
+    @NotNull(message = "Seats per row are mandatory")
+    @Min(value = 1, message = "Seats per row must be between 1 and 100")
+    @Max(value = 100, message = "Seats per row must be between 1 and 100")
+    Integer seatsPerRow
+) {}
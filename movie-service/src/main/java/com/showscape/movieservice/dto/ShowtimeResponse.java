@@ -0,0 +1,17 @@
+package com.showscape.movieservice.dto;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+@Builder
+public record ShowtimeResponse(
+    Long id,
+    Long movieId,
+    Instant startsAt,
+    String auditorium,
+    int seatRows,
+    int seatsPerRow,
+    // Seats neither held nor sold
+    int availableSeats
+) {}
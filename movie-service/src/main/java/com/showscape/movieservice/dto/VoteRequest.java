@@ -0,0 +1,12 @@
+package com.showscape.movieservice.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record VoteRequest(
+    @NotNull(message = "Score is mandatory")
+    @Min(value = 1, message = "Score must be between 1 and 10")
+    @Max(value = 10, message = "Score must be between 1 and 10")
+    Integer score
+) {}
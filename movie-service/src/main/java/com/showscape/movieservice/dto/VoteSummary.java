@@ -0,0 +1,11 @@
+package com.showscape.movieservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VoteSummary(
+    Long movieId,
+    long voteCount,
+    // Absent until the first vote
+    Double averageScore
+) {}
@@ -0,0 +1,37 @@
+package com.showscape.movieservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Remembers which movie a create request carrying an {@code Idempotency-Key} header produced, so a retry with the
+ * same key returns that movie instead of creating another.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idempotency_keys_expires_at_idx", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    // Fingerprint of the request body, so a key reused for a different request is detected
+    @Column(nullable = false)
+    private long requestHash;
+
+    private Long movieId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
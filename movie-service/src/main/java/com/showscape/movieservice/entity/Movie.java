@@ -2,19 +2,41 @@ package com.showscape.movieservice.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", uniqueConstraints = @UniqueConstraint(name = "movies_natural_key_hash_key",
+        columnNames = {"natural_key_hash", "release_date"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,7 +55,65 @@ public class Movie {
 
     private LocalDate releaseDate;
 
-    private String genre;
+    // Ordered, primary genre first; loaded for a whole result set with one extra query
+    @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @JoinTable(
+            name = "movie_genres",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            inverseJoinColumns = @JoinColumn(name = "genre_id"),
+            uniqueConstraints = @UniqueConstraint(name = "movie_genres_movie_genre_key",
+                    columnNames = {"movie_id", "genre_id"}),
+            indexes = @Index(name = "movie_genres_genre_movie_idx", columnList = "genre_id, movie_id"))
+    @OrderColumn(name = "position")
+    @Builder.Default
+    private List<Genre> genres = new ArrayList<>();
 
     private Double rating;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    // Hash of the normalized title and release date; its unique index rejects duplicate movies on insert
+    @Column(name = "natural_key_hash")
+    private Long naturalKeyHash;
+
+    @PrePersist
+    @PreUpdate
+    void updateNaturalKeyHash() {
+        naturalKeyHash = title == null ? null : naturalKeyHash(title, releaseDate);
+    }
+
+    /**
+     * Hashes a movie's natural key: its title, compared case-insensitively and ignoring surrounding and repeated
+     * whitespace, and its release date.
+     *
+     * @param title       the movie title
+     * @param releaseDate the release date, may be {@code null}
+     * @return the first 64 bits of the SHA-256 digest of the normalized key
+     */
+    public static long naturalKeyHash(String title, LocalDate releaseDate) {
+        String normalizedTitle = Normalizer.normalize(title, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((normalizedTitle + '\0' + releaseDate).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Returns the primary genre's name, or {@code null} if the movie has no genre.
+     */
+    public String getPrimaryGenre() {
+        return genres == null || genres.isEmpty() ? null : genres.get(0).getName();
+    }
+
+    public List<String> getGenreNames() {
+        return genres == null ? List.of() : genres.stream().map(Genre::getName).toList();
+    }
 }
@@ -0,0 +1,29 @@
+package com.showscape.movieservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flushed audience vote totals of a movie. Written only by {@code MovieVoteService}'s batched upserts.
+ */
+@Entity
+@Table(name = "movie_votes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieVotes {
+
+    @Id
+    private Long movieId;
+
+    @Column(nullable = false)
+    private long voteCount;
+
+    @Column(nullable = false)
+    private long scoreSum;
+}
@@ -0,0 +1,36 @@
+package com.showscape.movieservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A persisted copy of an in-memory seat hold, written asynchronously so holds survive a restart.
+ */
+@Entity
+@Table(name = "seat_holds", indexes = @Index(name = "seat_holds_showtime_idx", columnList = "showtime_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long showtimeId;
+
+    @Column(nullable = false)
+    private int[] seats;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
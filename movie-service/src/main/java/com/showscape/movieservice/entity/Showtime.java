@@ -0,0 +1,55 @@
+package com.showscape.movieservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A screening of a movie in an auditorium with {@code seatRows * seatsPerRow} seats, numbered row by row from 0.
+ */
+@Entity
+@Table(name = "showtimes", indexes = @Index(name = "showtimes_movie_starts_at_idx", columnList = "movie_id, starts_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Showtime {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The movie's id rather than an association, so the partitioned movies table needs no foreign key
+    @Column(nullable = false)
+    private Long movieId;
+
+    @Column(nullable = false)
+    private Instant startsAt;
+
+    @Column(nullable = false)
+    private String auditorium;
+
+    @Column(nullable = false)
+    private int seatRows;
+
+    @Column(nullable = false)
+    private int seatsPerRow;
+
+    // Bitset of sold seats: bit n % 64 of word n / 64 is seat n
+    @Column(nullable = false)
+    private long[] soldSeats;
+
+    public int getCapacity() {
+        return seatRows * seatsPerRow;
+    }
+}
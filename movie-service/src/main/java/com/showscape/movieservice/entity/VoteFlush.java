@@ -0,0 +1,31 @@
+package com.showscape.movieservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Records that a batch of vote deltas has been applied, so retrying a flush whose commit was not acknowledged
+ * cannot count its votes twice.
+ */
+@Entity
+@Table(name = "vote_flushes", indexes = @Index(name = "vote_flushes_flushed_at_idx", columnList = "flushed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteFlush {
+
+    @Id
+    private UUID flushId;
+
+    @Column(nullable = false)
+    private Instant flushedAt;
+}
@@ -0,0 +1,14 @@
+package com.showscape.movieservice.exception;
+
+/**
+ * Base class of the exceptions that report a client error and are answered with a 4xx status.
+ * <p>
+ * They are thrown routinely, by crawlers probing unknown IDs or buyers losing a race for seats, and nothing ever
+ * logs their stack traces, so none is captured.
+ */
+public abstract class ClientErrorException extends RuntimeException {
+
+    protected ClientErrorException(String message) {
+        super(message, null, false, false);
+    }
+}
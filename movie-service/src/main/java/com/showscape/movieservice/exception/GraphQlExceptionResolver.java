@@ -0,0 +1,28 @@
+package com.showscape.movieservice.exception;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * The GraphQL counterpart of {@link GlobalExceptionHandler}: reports lookups of missing movies and showtimes as
+ * {@link ErrorType#NOT_FOUND} errors. Other exceptions keep Spring's generic {@code INTERNAL_ERROR}, which hides their
+ * message.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (ex instanceof MovieNotFoundException || ex instanceof ShowtimeNotFoundException) {
+            return GraphqlErrorBuilder.newError(env)
+                    .errorType(ErrorType.NOT_FOUND)
+                    .message(ex.getMessage())
+                    .build();
+        }
+        return null;
+    }
+}
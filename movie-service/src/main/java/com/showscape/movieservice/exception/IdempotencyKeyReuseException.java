@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class IdempotencyKeyReuseException extends ClientErrorException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
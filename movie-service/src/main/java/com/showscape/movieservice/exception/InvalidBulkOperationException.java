@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class InvalidBulkOperationException extends ClientErrorException {
+    public InvalidBulkOperationException(String message) {
+        super(message);
+    }
+}
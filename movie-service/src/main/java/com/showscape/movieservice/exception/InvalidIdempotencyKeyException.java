@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class InvalidIdempotencyKeyException extends ClientErrorException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
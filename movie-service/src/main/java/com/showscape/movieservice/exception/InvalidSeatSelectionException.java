@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class InvalidSeatSelectionException extends ClientErrorException {
+    public InvalidSeatSelectionException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.showscape.movieservice.exception;
 
-public class MovieAlreadyExistsException extends RuntimeException {
+public class MovieAlreadyExistsException extends ClientErrorException {
     public MovieAlreadyExistsException(String message) {
         super(message);
     }
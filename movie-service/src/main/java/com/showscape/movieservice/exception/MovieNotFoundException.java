@@ -1,7 +1,22 @@
 package com.showscape.movieservice.exception;
 
-public class MovieNotFoundException extends RuntimeException {
+public class MovieNotFoundException extends ClientErrorException {
+
+    private final Long movieId;
+
+    // Crawlers probe unknown IDs all the time, so the message is not built until needed
+    public MovieNotFoundException(long movieId) {
+        super(null);
+        this.movieId = movieId;
+    }
+
     public MovieNotFoundException(String message) {
         super(message);
+        this.movieId = null;
+    }
+
+    @Override
+    public String getMessage() {
+        return movieId == null ? super.getMessage() : "Movie not found with id: " + movieId;
     }
 }
@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class SeatHoldNotFoundException extends ClientErrorException {
+    public SeatHoldNotFoundException(String message) {
+        super(message);
+    }
+}
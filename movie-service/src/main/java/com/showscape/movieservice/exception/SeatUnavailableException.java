@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class SeatUnavailableException extends ClientErrorException {
+    public SeatUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.showscape.movieservice.exception;
+
+import com.showscape.movieservice.limiter.ConcurrencyBudget;
+
+import java.time.Duration;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(ConcurrencyBudget budget, Duration retryAfter) {
+        // Thrown on every shed request during overload, so skip the stack trace
+        super("Too many concurrent " + budget + " requests, retry later", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.showscape.movieservice.exception;
+
+public class ShowtimeNotFoundException extends ClientErrorException {
+    public ShowtimeNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,100 @@
+package com.showscape.movieservice.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gradient-based adaptive concurrency limit, after Netflix's concurrency-limits {@code Gradient2Limit}.
+ * <p>
+ * A long-term exponential average of request latency serves as the no-load baseline. Each completed request
+ * compares that baseline with its own latency: while latency stays near the baseline the limit grows by
+ * roughly its square root, and once requests start queueing (latency rises) the limit shrinks in proportion.
+ * Requests over the limit are rejected immediately instead of queueing in Tomcat.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+    }
+
+    /**
+     * Takes a slot if the budget has one free.
+     *
+     * @return {@code true} if the request may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and feeds the request's latency into the limit.
+     *
+     * @param rttNanos how long the request took
+     * @param dropped  whether the request failed in a way that says nothing about latency under load
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (!dropped) {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private synchronized void onSample(long sampleNanos, int inFlightAtCompletion) {
+        double rttNanos = Math.max(1, sampleNanos);
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // A baseline far above current latency means load has dropped; let it decay faster
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        // The limit only moves while it is actually being tested
+        if (inFlightAtCompletion < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
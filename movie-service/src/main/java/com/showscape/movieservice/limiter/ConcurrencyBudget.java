@@ -0,0 +1,15 @@
+package com.showscape.movieservice.limiter;
+
+/**
+ * Classes of endpoint that each get their own adaptive concurrency limit, so that a backlog of expensive
+ * requests cannot starve cheap ones.
+ */
+public enum ConcurrencyBudget {
+    LIST,
+    POINT_READ,
+    WRITE,
+    // Audience votes: far more frequent than, and much cheaper than, catalog writes
+    VOTE,
+    // Seat holds and releases, which only touch in-memory seat maps
+    SEAT_HOLD
+}
@@ -0,0 +1,51 @@
+package com.showscape.movieservice.limiter;
+
+import com.showscape.movieservice.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admits or sheds requests to {@link ConcurrencyLimited} controller methods according to their budget.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final Map<ConcurrencyBudget, AdaptiveConcurrencyLimiter> limiters;
+    private final Duration retryAfter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConcurrencyLimited concurrencyLimited = handlerMethod.getMethodAnnotation(ConcurrencyLimited.class);
+        if (concurrencyLimited == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(concurrencyLimited.value());
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(concurrencyLimited.value(), retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            boolean dropped = ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            permit.limiter().release(System.nanoTime() - permit.startNanos(), dropped);
+        }
+    }
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {}
+}
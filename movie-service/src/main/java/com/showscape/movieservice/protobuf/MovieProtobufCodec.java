@@ -0,0 +1,185 @@
+package com.showscape.movieservice.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.showscape.movieservice.dto.MovieRequest;
+import com.showscape.movieservice.dto.MovieResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes the movie DTOs in the protobuf wire format described by {@code src/main/proto/movie.proto}.
+ * <p>
+ * Messages are written field by field with the protobuf runtime, so no generated classes or intermediate
+ * message objects are needed. {@code null} fields are simply omitted.
+ */
+public final class MovieProtobufCodec {
+
+    private static final int MOVIE_ID = 1;
+    private static final int MOVIE_TITLE = 2;
+    private static final int MOVIE_DESCRIPTION = 3;
+    private static final int MOVIE_RELEASE_EPOCH_DAY = 4;
+    private static final int MOVIE_GENRE = 5;
+    private static final int MOVIE_RATING = 6;
+    private static final int MOVIE_GENRES = 7;
+
+    private static final int MOVIE_LIST_MOVIES = 1;
+
+    private static final int REQUEST_TITLE = 1;
+    private static final int REQUEST_DESCRIPTION = 2;
+    private static final int REQUEST_RELEASE_EPOCH_DAY = 3;
+    private static final int REQUEST_GENRE = 4;
+    private static final int REQUEST_RATING = 5;
+    private static final int REQUEST_GENRES = 6;
+
+    private MovieProtobufCodec() {
+    }
+
+    public static void writeMovie(MovieResponse movie, CodedOutputStream out) throws IOException {
+        if (movie.id() != null) {
+            out.writeInt64(MOVIE_ID, movie.id());
+        }
+        if (movie.title() != null) {
+            out.writeString(MOVIE_TITLE, movie.title());
+        }
+        if (movie.description() != null) {
+            out.writeString(MOVIE_DESCRIPTION, movie.description());
+        }
+        if (movie.releaseDate() != null) {
+            out.writeSInt32(MOVIE_RELEASE_EPOCH_DAY, Math.toIntExact(movie.releaseDate().toEpochDay()));
+        }
+        if (movie.genre() != null) {
+            out.writeString(MOVIE_GENRE, movie.genre());
+        }
+        if (movie.rating() != null) {
+            out.writeDouble(MOVIE_RATING, movie.rating());
+        }
+        writeStrings(MOVIE_GENRES, movie.genres(), out);
+    }
+
+    public static void writeMovieList(List<MovieResponse> movies, CodedOutputStream out) throws IOException {
+        for (MovieResponse movie : movies) {
+            out.writeTag(MOVIE_LIST_MOVIES, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(movieSize(movie));
+            writeMovie(movie, out);
+        }
+    }
+
+    public static MovieResponse readMovie(CodedInputStream in) throws IOException {
+        MovieResponse.MovieResponseBuilder movie = MovieResponse.builder();
+        List<String> genres = null;
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case MOVIE_ID -> movie.id(in.readInt64());
+                case MOVIE_TITLE -> movie.title(in.readString());
+                case MOVIE_DESCRIPTION -> movie.description(in.readString());
+                case MOVIE_RELEASE_EPOCH_DAY -> movie.releaseDate(LocalDate.ofEpochDay(in.readSInt32()));
+                case MOVIE_GENRE -> movie.genre(in.readString());
+                case MOVIE_RATING -> movie.rating(in.readDouble());
+                case MOVIE_GENRES -> genres = addTo(genres, in.readString());
+                default -> in.skipField(tag);
+            }
+        }
+        return movie.genres(genres).build();
+    }
+
+    public static List<MovieResponse> readMovieList(CodedInputStream in) throws IOException {
+        List<MovieResponse> movies = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) != MOVIE_LIST_MOVIES) {
+                in.skipField(tag);
+                continue;
+            }
+            int limit = in.pushLimit(in.readRawVarint32());
+            movies.add(readMovie(in));
+            in.popLimit(limit);
+        }
+        return movies;
+    }
+
+    public static void writeMovieRequest(MovieRequest request, CodedOutputStream out) throws IOException {
+        if (request.title() != null) {
+            out.writeString(REQUEST_TITLE, request.title());
+        }
+        if (request.description() != null) {
+            out.writeString(REQUEST_DESCRIPTION, request.description());
+        }
+        if (request.releaseDate() != null) {
+            out.writeSInt32(REQUEST_RELEASE_EPOCH_DAY, Math.toIntExact(request.releaseDate().toEpochDay()));
+        }
+        if (request.genre() != null) {
+            out.writeString(REQUEST_GENRE, request.genre());
+        }
+        if (request.rating() != null) {
+            out.writeDouble(REQUEST_RATING, request.rating());
+        }
+        writeStrings(REQUEST_GENRES, request.genres(), out);
+    }
+
+    public static MovieRequest readMovieRequest(CodedInputStream in) throws IOException {
+        MovieRequest.MovieRequestBuilder request = MovieRequest.builder();
+        List<String> genres = null;
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_TITLE -> request.title(in.readString());
+                case REQUEST_DESCRIPTION -> request.description(in.readString());
+                case REQUEST_RELEASE_EPOCH_DAY -> request.releaseDate(LocalDate.ofEpochDay(in.readSInt32()));
+                case REQUEST_GENRE -> request.genre(in.readString());
+                case REQUEST_RATING -> request.rating(in.readDouble());
+                case REQUEST_GENRES -> genres = addTo(genres, in.readString());
+                default -> in.skipField(tag);
+            }
+        }
+        return request.genres(genres).build();
+    }
+
+    private static int movieSize(MovieResponse movie) {
+        int size = 0;
+        if (movie.id() != null) {
+            size += CodedOutputStream.computeInt64Size(MOVIE_ID, movie.id());
+        }
+        if (movie.title() != null) {
+            size += CodedOutputStream.computeStringSize(MOVIE_TITLE, movie.title());
+        }
+        if (movie.description() != null) {
+            size += CodedOutputStream.computeStringSize(MOVIE_DESCRIPTION, movie.description());
+        }
+        if (movie.releaseDate() != null) {
+            size += CodedOutputStream.computeSInt32Size(MOVIE_RELEASE_EPOCH_DAY,
+                    Math.toIntExact(movie.releaseDate().toEpochDay()));
+        }
+        if (movie.genre() != null) {
+            size += CodedOutputStream.computeStringSize(MOVIE_GENRE, movie.genre());
+        }
+        if (movie.rating() != null) {
+            size += CodedOutputStream.computeDoubleSize(MOVIE_RATING, movie.rating());
+        }
+        if (movie.genres() != null) {
+            for (String genre : movie.genres()) {
+                size += CodedOutputStream.computeStringSize(MOVIE_GENRES, genre);
+            }
+        }
+        return size;
+    }
+
+    private static void writeStrings(int fieldNumber, List<String> values, CodedOutputStream out) throws IOException {
+        if (values != null) {
+            for (String value : values) {
+                out.writeString(fieldNumber, value);
+            }
+        }
+    }
+
+    private static List<String> addTo(List<String> values, String value) {
+        List<String> list = values != null ? values : new ArrayList<>();
+        list.add(value);
+        return list;
+    }
+}
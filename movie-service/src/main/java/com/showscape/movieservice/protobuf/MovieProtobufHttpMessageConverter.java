@@ -0,0 +1,75 @@
+package com.showscape.movieservice.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.showscape.movieservice.dto.MovieRequest;
+import com.showscape.movieservice.dto.MovieResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads {@link MovieRequest} and writes {@link MovieResponse} or {@code List<MovieResponse>} as
+ * {@code application/x-protobuf}, using the schema in {@code src/main/proto/movie.proto}.
+ */
+public class MovieProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public MovieProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MovieRequest.class == clazz || MovieResponse.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type == MovieRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        boolean writable = resolved.toClass() == MovieResponse.class
+                || (List.class.isAssignableFrom(resolved.toClass())
+                        && resolved.getGeneric(0).toClass() == MovieResponse.class);
+        return writable && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(MovieRequest.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return MovieProtobufCodec.readMovieRequest(CodedInputStream.newInstance(inputMessage.getBody()));
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Invalid protobuf MovieRequest: " + ex.getMessage(), ex,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof MovieResponse movie) {
+            MovieProtobufCodec.writeMovie(movie, out);
+        } else {
+            MovieProtobufCodec.writeMovieList((List<MovieResponse>) body, out);
+        }
+        out.flush();
+    }
+}
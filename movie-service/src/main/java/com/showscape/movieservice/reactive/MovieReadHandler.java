@@ -0,0 +1,70 @@
+package com.showscape.movieservice.reactive;
+
+import com.showscape.movieservice.dto.MovieResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handlers for the movie read endpoints, answering the same paths and payloads as {@code MovieController}.
+ * <p>
+ * List endpoints stream their results: rows are encoded and written as the database delivers them, as a JSON
+ * array or, for {@code Accept: application/x-ndjson}, one movie per line.
+ */
+public class MovieReadHandler {
+
+    private final ReactiveMovieRepository movieRepository;
+
+    public MovieReadHandler(ReactiveMovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    public Mono<ServerResponse> getAllMovies(ServerRequest request) {
+        return ServerResponse.ok().body(movieRepository.findAll(), MovieResponse.class);
+    }
+
+    public Mono<ServerResponse> getMovieById(ServerRequest request) {
+        String id = request.pathVariable("id");
+        if (!isNumber(id)) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid value for parameter 'id': " + id);
+        }
+        return movieRepository.findById(Long.parseLong(id))
+                .flatMap(movie -> ServerResponse.ok().bodyValue(movie))
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND, "Movie not found with id: " + id)));
+    }
+
+    public Mono<ServerResponse> getMoviesByGenre(ServerRequest request) {
+        return ServerResponse.ok()
+                .body(movieRepository.findByGenre(request.pathVariable("genre")), MovieResponse.class);
+    }
+
+    public Mono<ServerResponse> getMoviesByReleaseYear(ServerRequest request) {
+        String year = request.pathVariable("year");
+        if (!isNumber(year) || year.length() > 9) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid value for parameter 'year': " + year);
+        }
+        return ServerResponse.ok()
+                .body(movieRepository.findByReleaseYear(Integer.parseInt(year)), MovieResponse.class);
+    }
+
+    public Mono<ServerResponse> getDistinctGenres(ServerRequest request) {
+        return ServerResponse.ok().body(movieRepository.findDistinctGenres(), String.class);
+    }
+
+    public Mono<ServerResponse> getDistinctYears(ServerRequest request) {
+        return ServerResponse.ok().body(movieRepository.findDistinctReleaseYears(), Integer.class);
+    }
+
+    private static boolean isNumber(String value) {
+        return !value.isEmpty() && value.length() <= 18 && value.chars().allMatch(Character::isDigit);
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String detail) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(ProblemDetail.forStatusAndDetail(status, detail));
+    }
+}
@@ -0,0 +1,96 @@
+package com.showscape.movieservice.reactive;
+
+import com.showscape.movieservice.dto.MovieResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the read side of {@code MovieRepository}, over R2DBC.
+ * <p>
+ * Each movie's genres are read as an ordered array in the same row, so a list is one query. Lists are fetched
+ * through a cursor {@code fetchSize} rows at a time, and only as fast as the subscriber requests them.
+ */
+public class ReactiveMovieRepository {
+
+    private static final String SELECT_MOVIES = """
+            SELECT m.id, m.title, m.description, m.release_date, m.rating,
+                   ARRAY(SELECT g.name FROM movie_genres mg JOIN genres g ON g.id = mg.genre_id
+                         WHERE mg.movie_id = m.id ORDER BY mg.position) AS genres
+            FROM movies m""";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveMovieRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<MovieResponse> findById(long id) {
+        return databaseClient.sql(SELECT_MOVIES + " WHERE m.id = :id")
+                .bind("id", id)
+                .map(ReactiveMovieRepository::toResponse)
+                .one();
+    }
+
+    public Flux<MovieResponse> findAll() {
+        return stream(databaseClient.sql(SELECT_MOVIES + " ORDER BY m.id"));
+    }
+
+    public Flux<MovieResponse> findByGenre(String genre) {
+        return stream(databaseClient.sql(SELECT_MOVIES + """
+                 WHERE m.id IN (SELECT mg.movie_id FROM movie_genres mg JOIN genres g ON g.id = mg.genre_id
+                               WHERE g.name = :genre)
+                ORDER BY m.id""")
+                .bind("genre", genre));
+    }
+
+    // A range on release_date rather than its year, so indexes and partition pruning apply
+    public Flux<MovieResponse> findByReleaseYear(int year) {
+        return stream(databaseClient.sql(SELECT_MOVIES + " WHERE m.release_date BETWEEN :from AND :to ORDER BY m.id")
+                .bind("from", LocalDate.of(year, 1, 1))
+                .bind("to", LocalDate.of(year, 12, 31)));
+    }
+
+    public Flux<String> findDistinctGenres() {
+        return databaseClient.sql("""
+                        SELECT DISTINCT g.name FROM genres g JOIN movie_genres mg ON mg.genre_id = g.id
+                        ORDER BY g.name""")
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    public Flux<Integer> findDistinctReleaseYears() {
+        return databaseClient.sql("""
+                        SELECT DISTINCT CAST(EXTRACT(YEAR FROM release_date) AS INTEGER) AS year FROM movies
+                        ORDER BY year""")
+                .map(row -> row.get("year", Integer.class))
+                .all();
+    }
+
+    private Flux<MovieResponse> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveMovieRepository::toResponse)
+                .all();
+    }
+
+    private static MovieResponse toResponse(Readable row) {
+        String[] genreArray = row.get("genres", String[].class);
+        List<String> genres = genreArray == null ? List.of() : Arrays.asList(genreArray);
+        return MovieResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .releaseDate(row.get("release_date", LocalDate.class))
+                .genre(genres.isEmpty() ? null : genres.get(0))
+                .genres(genres)
+                .rating(row.get("rating", Double.class))
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.showscape.movieservice.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Starts the non-blocking read-only stack instead of the servlet application: WebFlux on Netty over R2DBC,
+ * serving the movie read endpoints. Run with {@code ./gradlew bootRunReactive}.
+ */
+public final class ReactiveMovieServiceApplication {
+
+    private ReactiveMovieServiceApplication() {
+    }
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadConfig.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,96 @@
+package com.showscape.movieservice.reactive;
+
+import com.showscape.movieservice.config.ReactiveReadProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.graphql.GraphQlAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+/**
+ * The whole reactive read stack: WebFlux routes on Netty over an R2DBC repository, with no JDBC, JPA, GraphQL or
+ * servlet beans.
+ * <p>
+ * Inactive unless the {@code reactive} profile is active in a reactive web application, so the servlet
+ * application's component scan, which finds this class, leaves it alone.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableAutoConfiguration(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class,
+        SqlInitializationAutoConfiguration.class,
+        GraphQlAutoConfiguration.class
+})
+@EnableConfigurationProperties(ReactiveReadProperties.class)
+public class ReactiveReadConfig {
+
+    // Tomcat is on the classpath for the servlet application, and Boot would otherwise prefer it over Netty
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> customizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(customizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Bean
+    ReactiveMovieRepository reactiveMovieRepository(DatabaseClient databaseClient, ReactiveReadProperties properties) {
+        return new ReactiveMovieRepository(databaseClient, properties.fetchSize());
+    }
+
+    @Bean
+    MovieReadHandler movieReadHandler(ReactiveMovieRepository reactiveMovieRepository) {
+        return new MovieReadHandler(reactiveMovieRepository);
+    }
+
+    // Literal paths before /{id}, which would otherwise match them
+    @Bean
+    RouterFunction<ServerResponse> movieReadRoutes(MovieReadHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/movies", movies -> movies
+                        .GET("", handler::getAllMovies)
+                        .GET("/genres", handler::getDistinctGenres)
+                        .GET("/years", handler::getDistinctYears)
+                        .GET("/genre/{genre}", handler::getMoviesByGenre)
+                        .GET("/year/{year}", handler::getMoviesByReleaseYear)
+                        .GET("/{id}", handler::getMovieById))
+                .build();
+    }
+
+    // Same policy as CorsConfig on the servlet stack, which is not loaded here
+    @Bean
+    CorsWebFilter corsWebFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:5173"));
+        cors.setAllowedMethods(List.of("GET", "OPTIONS"));
+        cors.addAllowedHeader("*");
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
@@ -0,0 +1,12 @@
+package com.showscape.movieservice.repository;
+
+/**
+ * The number of movies tagged with a genre.
+ *
+ * @param genreId    the genre's dictionary id
+ * @param movieCount how many movies carry it
+ */
+public record GenreCount(
+    Short genreId,
+    Long movieCount
+) {}
@@ -0,0 +1,24 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.Genre;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface GenreRepository extends JpaRepository<Genre, Short> {
+
+    Optional<Genre> findByName(String name);
+
+    // Waits for, instead of failing on, a concurrent insert of the same name
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO genres (name) VALUES (:name) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+}
@@ -0,0 +1,39 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+@Transactional(readOnly = true)
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Inserts the key, or takes over an expired one. A concurrent claim of the same key blocks here until the
+    // other transaction ends, then claims nothing if it committed.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, expires_at)
+            VALUES (:idempotencyKey, :requestHash, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash, movie_id = NULL, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at < :now""", nativeQuery = true)
+    int claim(@Param("idempotencyKey") String idempotencyKey, @Param("requestHash") long requestHash,
+              @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.movieId = :movieId WHERE r.idempotencyKey = :idempotencyKey")
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("movieId") long movieId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
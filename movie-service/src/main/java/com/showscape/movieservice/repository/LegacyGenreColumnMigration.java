@@ -0,0 +1,54 @@
+package com.showscape.movieservice.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Copies genres from the free-text {@code movies.genre} column used by earlier versions into the {@code genres}
+ * dictionary and the {@code movie_genres} join table.
+ * <p>
+ * Runs at every startup, after Hibernate has created the new tables, and only links movies that have no genres
+ * yet, so movies written by instances still on the old version are picked up by the next restart. The column
+ * itself is left in place for those instances; drop it with {@code db/drop-legacy-genre-column.sql} once every
+ * instance has been upgraded. Does nothing when the column is gone.
+ */
+@Slf4j
+@Component
+public class LegacyGenreColumnMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Taking the EntityManagerFactory makes the migration wait for Hibernate's schema update
+    public LegacyGenreColumnMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void migrate() {
+        Boolean legacyColumn = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM information_schema.columns
+                               WHERE table_schema = current_schema() AND table_name = 'movies'
+                                 AND column_name = 'genre')""", Boolean.class);
+        if (!Boolean.TRUE.equals(legacyColumn)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int genres = jdbcTemplate.update("""
+                    INSERT INTO genres (name)
+                    SELECT DISTINCT genre FROM movies WHERE genre IS NOT NULL
+                    ON CONFLICT (name) DO NOTHING""");
+            int movies = jdbcTemplate.update("""
+                    INSERT INTO movie_genres (movie_id, genre_id, position)
+                    SELECT m.id, g.id, 0 FROM movies m JOIN genres g ON g.name = m.genre
+                    WHERE NOT EXISTS (SELECT 1 FROM movie_genres mg WHERE mg.movie_id = m.id)""");
+            log.info("Copied the legacy genre column into the genre dictionary: {} genres, {} movies", genres, movies);
+        });
+    }
+}
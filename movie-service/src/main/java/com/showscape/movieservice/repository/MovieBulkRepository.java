@@ -0,0 +1,25 @@
+package com.showscape.movieservice.repository;
+
+import java.util.List;
+
+public interface MovieBulkRepository {
+
+    /**
+     * Changes every movie matching the filter with one set-based statement, plus one to replace their genres.
+     *
+     * @param filter   the movies to change
+     * @param rating   the new rating, or {@code null} to keep each movie's own
+     * @param genreIds the new genres in order, primary first, or {@code null} to keep each movie's own
+     * @return the ids of the changed movies
+     */
+    List<Long> updateMatching(MovieFilter filter, Double rating, List<Short> genreIds);
+
+    /**
+     * Deletes every movie matching the filter, together with its genre links, vote totals, showtimes and seat
+     * holds, in one statement.
+     *
+     * @param filter the movies to delete
+     * @return the ids of the deleted movies
+     */
+    List<Long> deleteMatching(MovieFilter filter);
+}
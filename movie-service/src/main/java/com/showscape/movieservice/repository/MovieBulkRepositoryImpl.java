@@ -0,0 +1,64 @@
+package com.showscape.movieservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk writes as native PostgreSQL statements. Data-modifying CTEs remove a movie's dependent rows in the same
+ * statement as the movie, and {@code RETURNING} reports the affected ids without a separate lookup.
+ * <p>
+ * Bulk writes bypass the persistence context and the {@code @UpdateTimestamp} listener, so they set
+ * {@code updated_at} themselves; callers must not rely on managed {@code Movie} instances afterwards.
+ */
+public class MovieBulkRepositoryImpl implements MovieBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> updateMatching(MovieFilter filter, Double rating, List<Short> genreIds) {
+        List<Object> params = new ArrayList<>();
+        params.add(rating);
+        String where = MovieFilters.toSql(filter, params);
+        String update = "UPDATE movies SET rating = COALESCE(?::double precision, rating), updated_at = now() WHERE " + where
+                + " RETURNING id";
+        if (genreIds == null) {
+            return jdbcTemplate.queryForList(update, Long.class, params.toArray());
+        }
+        List<Long> updatedIds = jdbcTemplate.queryForList("""
+                WITH updated AS (%s),
+                     cleared AS (DELETE FROM movie_genres WHERE movie_id IN (SELECT id FROM updated))
+                SELECT id FROM updated""".formatted(update), Long.class, params.toArray());
+        // A separate statement: rows inserted alongside the DELETE above would still see the old keys
+        if (!updatedIds.isEmpty() && !genreIds.isEmpty()) {
+            jdbcTemplate.update("""
+                    INSERT INTO movie_genres (movie_id, genre_id, position)
+                    SELECT m.id, g.genre_id, g.ordinal - 1
+                    FROM unnest(?::bigint[]) AS m (id)
+                    CROSS JOIN unnest(?::smallint[]) WITH ORDINALITY AS g (genre_id, ordinal)""",
+                    updatedIds.toArray(Long[]::new), genreIds.toArray(Short[]::new));
+        }
+        return updatedIds;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteMatching(MovieFilter filter) {
+        List<Object> params = new ArrayList<>();
+        String where = MovieFilters.toSql(filter, params);
+        return jdbcTemplate.queryForList("""
+                WITH deleted AS (DELETE FROM movies WHERE %s RETURNING id),
+                     deleted_genres AS (DELETE FROM movie_genres WHERE movie_id IN (SELECT id FROM deleted)),
+                     deleted_votes AS (DELETE FROM movie_votes WHERE movie_id IN (SELECT id FROM deleted)),
+                     deleted_showtimes AS (DELETE FROM showtimes WHERE movie_id IN (SELECT id FROM deleted) RETURNING id),
+                     deleted_holds AS (DELETE FROM seat_holds WHERE showtime_id IN (SELECT id FROM deleted_showtimes))
+                SELECT id FROM deleted""".formatted(where), Long.class, params.toArray());
+    }
+}
@@ -0,0 +1,37 @@
+package com.showscape.movieservice.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Row filter for set-based movie queries. Every non-null criterion must match.
+ *
+ * @param ids          only movies with one of these ids
+ * @param genreId      only movies tagged with this genre
+ * @param releasedFrom only movies released on or after this date
+ * @param releasedTo   only movies released on or before this date
+ */
+public record MovieFilter(
+    Collection<Long> ids,
+    Short genreId,
+    LocalDate releasedFrom,
+    LocalDate releasedTo
+) {
+
+    public static MovieFilter all() {
+        return new MovieFilter(null, null, null, null);
+    }
+
+    public static MovieFilter byId(Long id) {
+        return new MovieFilter(List.of(id), null, null, null);
+    }
+
+    public static MovieFilter byGenre(short genreId) {
+        return new MovieFilter(null, genreId, null, null);
+    }
+
+    public static MovieFilter byReleaseYear(int year) {
+        return new MovieFilter(null, null, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+}
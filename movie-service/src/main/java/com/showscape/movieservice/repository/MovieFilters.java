@@ -0,0 +1,61 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.Movie;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates a {@link MovieFilter} into a JPA criteria predicate or a native SQL condition.
+ */
+final class MovieFilters {
+
+    private MovieFilters() {
+    }
+
+    static Predicate toPredicate(MovieFilter filter, Root<Movie> movie, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.ids() != null) {
+            predicates.add(movie.get("id").in(filter.ids()));
+        }
+        if (filter.genreId() != null) {
+            predicates.add(cb.equal(movie.join("genres").get("id"), filter.genreId()));
+        }
+        if (filter.releasedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(movie.<LocalDate>get("releaseDate"), filter.releasedFrom()));
+        }
+        if (filter.releasedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(movie.<LocalDate>get("releaseDate"), filter.releasedTo()));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Builds a condition on the columns of {@code movies}, appending its bind values to {@code params}.
+     */
+    static String toSql(MovieFilter filter, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.ids() != null) {
+            conditions.add("id = ANY (?)");
+            params.add(filter.ids().toArray(Long[]::new));
+        }
+        if (filter.genreId() != null) {
+            conditions.add("id IN (SELECT movie_id FROM movie_genres WHERE genre_id = ?)");
+            params.add(filter.genreId());
+        }
+        // Ranges on release_date let PostgreSQL prune partitions
+        if (filter.releasedFrom() != null) {
+            conditions.add("release_date >= ?");
+            params.add(filter.releasedFrom());
+        }
+        if (filter.releasedTo() != null) {
+            conditions.add("release_date <= ?");
+            params.add(filter.releasedTo());
+        }
+        return conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions);
+    }
+}
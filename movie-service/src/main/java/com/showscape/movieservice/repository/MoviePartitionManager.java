@@ -0,0 +1,108 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.config.MoviePartitioningProperties;
+import com.showscape.movieservice.config.MoviePartitioningProperties.Granularity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Creates the {@code release_date} range partitions of the {@code movies} table.
+ * <p>
+ * Partitions are created for the current year and {@code yearsAhead} years after it, and for any year whose rows
+ * have landed in the default partition. Rows for a new partition are moved out of the default partition in the
+ * same transaction that attaches it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "showscape.partitioning", name = "enabled", havingValue = "true")
+public class MoviePartitionManager {
+
+    static final String DEFAULT_PARTITION = "movies_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MoviePartitioningProperties properties;
+
+    public MoviePartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 MoviePartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates every missing partition.
+     *
+     * @return the names of the partitions created
+     */
+    @Scheduled(fixedDelayString = "${showscape.partitioning.maintenance-interval:1d}")
+    public List<String> ensurePartitions() {
+        Granularity granularity = properties.granularity();
+        SortedSet<Integer> starts = new TreeSet<>();
+        int currentYear = Year.now().getValue();
+        for (int year = currentYear; year <= currentYear + properties.yearsAhead(); year++) {
+            starts.add(granularity.startOf(year));
+        }
+        jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM release_date) AS int) FROM " + DEFAULT_PARTITION,
+                Integer.class).forEach(year -> starts.add(granularity.startOf(year)));
+
+        List<String> created = new ArrayList<>();
+        for (int start : starts) {
+            String name = partitionName(start);
+            if (exists(name)) {
+                continue;
+            }
+            try {
+                createPartition(start);
+                created.add(name);
+            } catch (DataAccessException ex) {
+                // Typically another instance creating the same partition; the next run retries otherwise
+                log.warn("Failed to create partition {}", name, ex);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * @return the name of the partition that holds movies released in {@code year}
+     */
+    public String partitionName(int year) {
+        Granularity granularity = properties.granularity();
+        String prefix = granularity == Granularity.DECADE ? "movies_d" : "movies_y";
+        return prefix + granularity.startOf(year);
+    }
+
+    private void createPartition(int startYear) {
+        String name = partitionName(startYear);
+        LocalDate from = LocalDate.of(startYear, 1, 1);
+        LocalDate to = from.plusYears(properties.granularity().getYears());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE movies INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE release_date >= ? AND release_date < ? RETURNING *) INSERT INTO " + name
+                    + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE movies ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Created partition {} for [{}, {}); moved {} rows from {}", name, from, to, moved,
+                    DEFAULT_PARTITION);
+        });
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                table));
+    }
+}
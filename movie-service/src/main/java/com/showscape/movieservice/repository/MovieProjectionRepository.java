@@ -0,0 +1,22 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.dto.MovieField;
+import com.showscape.movieservice.dto.MovieResponse;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse-fieldset reads that select only the requested columns.
+ */
+public interface MovieProjectionRepository {
+
+    /**
+     * Finds the movies matching the filter, ordered by id, loading only the given fields.
+     *
+     * @param filter the rows to return
+     * @param fields the columns to load; fields not listed are left {@code null} in the result
+     * @return the matching movies
+     */
+    List<MovieResponse> findProjected(MovieFilter filter, Set<MovieField> fields);
+}
@@ -0,0 +1,94 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.dto.MovieField;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.entity.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ListJoin;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public class MovieProjectionRepositoryImpl implements MovieProjectionRepository {
+
+    private static final String ID_ALIAS = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MovieResponse> findProjected(MovieFilter filter, Set<MovieField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> movie = query.from(Movie.class);
+
+        boolean withGenres = fields.contains(MovieField.GENRE) || fields.contains(MovieField.GENRES);
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        for (MovieField field : fields) {
+            if (field.isColumn()) {
+                selections.add(movie.get(field.getAttributeName()).alias(field.getAttributeName()));
+            }
+        }
+        // Genres are matched to rows by id, so it is loaded even when not requested
+        if (withGenres && !fields.contains(MovieField.ID)) {
+            selections.add(movie.get("id").alias(ID_ALIAS));
+        }
+        query.multiselect(selections)
+                .where(MovieFilters.toPredicate(filter, movie, cb))
+                .orderBy(cb.asc(movie.get("id")));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        Map<Long, List<String>> genresByMovie = withGenres && !rows.isEmpty() ? findGenreNames(filter) : Map.of();
+        return rows.stream()
+                .map(tuple -> toResponse(tuple, fields, genresByMovie))
+                .toList();
+    }
+
+    private Map<Long, List<String>> findGenreNames(MovieFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> movie = query.from(Movie.class);
+        ListJoin<Movie, Genre> genre = movie.joinList("genres");
+        query.multiselect(movie.get("id"), genre.get("name"))
+                .where(MovieFilters.toPredicate(filter, movie, cb))
+                .orderBy(cb.asc(movie.get("id")), cb.asc(genre.index()));
+
+        Map<Long, List<String>> genresByMovie = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            genresByMovie.computeIfAbsent(row.get(0, Long.class), id -> new ArrayList<>())
+                    .add(row.get(1, String.class));
+        }
+        return genresByMovie;
+    }
+
+    private MovieResponse toResponse(Tuple tuple, Set<MovieField> fields, Map<Long, List<String>> genresByMovie) {
+        MovieResponse.MovieResponseBuilder builder = MovieResponse.builder();
+        List<String> genres = genresByMovie.isEmpty() ? List.of()
+                : genresByMovie.getOrDefault(tuple.get(ID_ALIAS, Long.class), List.of());
+        for (MovieField field : fields) {
+            switch (field) {
+                case ID -> builder.id(tuple.get(ID_ALIAS, Long.class));
+                case TITLE -> builder.title(tuple.get(field.getAttributeName(), String.class));
+                case DESCRIPTION -> builder.description(tuple.get(field.getAttributeName(), String.class));
+                case RELEASE_DATE -> builder.releaseDate(tuple.get(field.getAttributeName(), LocalDate.class));
+                case GENRE -> builder.genre(genres.isEmpty() ? null : genres.get(0));
+                case GENRES -> builder.genres(genres);
+                case RATING -> builder.rating(tuple.get(field.getAttributeName(), Double.class));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -5,24 +5,58 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+@Transactional(readOnly = true)
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieProjectionRepository, MovieBulkRepository {
 
-    List<Movie> findByGenre(String genre);
+    @Query("SELECT m FROM Movie m JOIN m.genres g WHERE g.id = :genreId")
+    List<Movie> findByGenreId(@Param("genreId") short genreId);
+
+    // Movies tagged with every one of the given genres
+    @Query("""
+            SELECT m FROM Movie m WHERE m.id IN (
+                SELECT t.id FROM Movie t JOIN t.genres g WHERE g.id IN :genreIds
+                GROUP BY t.id HAVING COUNT(g.id) = :genreCount)
+            ORDER BY m.id""")
+    List<Movie> findByAllGenreIds(@Param("genreIds") Collection<Short> genreIds, @Param("genreCount") long genreCount);
 
     List<Movie> findByReleaseDateBetween(LocalDate startDate, LocalDate endDate);
 
-    // Custom query to find by release year
-    @Query("SELECT m FROM Movie m WHERE YEAR(m.releaseDate) = :year")
-    List<Movie> findByReleaseYear(@Param("year") int year);
+    // A range on release_date rather than YEAR(release_date), so indexes and partition pruning apply
+    default List<Movie> findByReleaseYear(int year) {
+        return findByReleaseDateBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
 
-    @Query("SELECT DISTINCT m.genre FROM Movie m")
+    @Query("SELECT DISTINCT g.name FROM Movie m JOIN m.genres g ORDER BY g.name")
     List<String> findDistinctGenres();
 
+    @Query("""
+            SELECT new com.showscape.movieservice.repository.GenreCount(g.id, COUNT(m.id))
+            FROM Movie m JOIN m.genres g GROUP BY g.id""")
+    List<GenreCount> countMoviesByGenre();
+
+    // Genre counts over the movies tagged with every one of the given genres
+    @Query("""
+            SELECT new com.showscape.movieservice.repository.GenreCount(g.id, COUNT(m.id))
+            FROM Movie m JOIN m.genres g WHERE m.id IN (
+                SELECT t.id FROM Movie t JOIN t.genres tg WHERE tg.id IN :genreIds
+                GROUP BY t.id HAVING COUNT(tg.id) = :genreCount)
+            GROUP BY g.id""")
+    List<GenreCount> countMoviesByGenre(@Param("genreIds") Collection<Short> genreIds,
+                                        @Param("genreCount") long genreCount);
+
     @Query("SELECT DISTINCT YEAR(m.releaseDate) FROM Movie m ORDER BY YEAR(m.releaseDate) ASC")
     List<Integer> findDistinctReleaseYears();
+
+    List<Movie> findByUpdatedAtAfter(Instant updatedAt);
+
+    @Query("SELECT m.id FROM Movie m")
+    List<Long> findAllIds();
 }
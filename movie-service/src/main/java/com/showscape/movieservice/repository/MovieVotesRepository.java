@@ -0,0 +1,19 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.MovieVotes;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface MovieVotesRepository extends JpaRepository<MovieVotes, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MovieVotes v WHERE v.movieId = :movieId")
+    int deleteByMovieId(@Param("movieId") long movieId);
+}
@@ -0,0 +1,67 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.Movie;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fills in {@code movies.natural_key_hash} for rows written before the column existed.
+ * <p>
+ * Runs once at startup, after Hibernate has added the column. A row whose natural key another row already has is
+ * left without a hash, so the unique index can still be built over existing duplicates; they are logged.
+ */
+@Slf4j
+@Component
+public class NaturalKeyHashBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Taking the EntityManagerFactory makes the backfill wait for Hibernate's schema update
+    public NaturalKeyHashBackfill(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void backfill() {
+        List<Object[]> updates = jdbcTemplate.query(
+                "SELECT id, title, release_date FROM movies WHERE natural_key_hash IS NULL",
+                (rs, rowNum) -> {
+                    Date releaseDate = rs.getDate("release_date");
+                    LocalDate date = releaseDate == null ? null : releaseDate.toLocalDate();
+                    long hash = Movie.naturalKeyHash(rs.getString("title"), date);
+                    return new Object[]{hash, rs.getLong("id"), hash, releaseDate};
+                });
+        if (updates.isEmpty()) {
+            return;
+        }
+        // Statements in a batch run in order, so a later duplicate sees the hash set by an earlier one
+        int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate("""
+                UPDATE movies SET natural_key_hash = ?
+                WHERE id = ? AND NOT EXISTS (SELECT 1 FROM movies d WHERE d.natural_key_hash = ?
+                                                                    AND d.release_date IS NOT DISTINCT FROM ?)""",
+                updates, 500, (ps, update) -> {
+                    ps.setLong(1, (Long) update[0]);
+                    ps.setLong(2, (Long) update[1]);
+                    ps.setLong(3, (Long) update[2]);
+                    ps.setDate(4, (Date) update[3]);
+                }));
+        long hashed = Arrays.stream(counts).flatMapToInt(Arrays::stream).filter(count -> count > 0).count();
+        log.info("Backfilled natural key hashes of {} movies", hashed);
+        if (hashed < updates.size()) {
+            log.warn("{} movies duplicate the title and release date of another movie and were left unhashed",
+                    updates.size() - hashed);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Transactional(readOnly = true)
+public interface SeatHoldRepository extends JpaRepository<SeatHold, UUID> {
+
+    List<SeatHold> findByShowtimeIdAndExpiresAtAfter(Long showtimeId, Instant now);
+
+    List<SeatHold> findByShowtimeIdInAndExpiresAtAfter(Collection<Long> showtimeIds, Instant now);
+}
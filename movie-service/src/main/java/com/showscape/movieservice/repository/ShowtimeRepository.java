@@ -0,0 +1,28 @@
+package com.showscape.movieservice.repository;
+
+import com.showscape.movieservice.entity.Showtime;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+
+    List<Showtime> findByMovieIdOrderByStartsAt(Long movieId);
+
+    List<Showtime> findByMovieIdInOrderByStartsAt(Collection<Long> movieIds);
+
+    // Serializes confirmations of the same showtime, which all rewrite its sold-seat bitset
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Showtime s WHERE s.id = :id")
+    Optional<Showtime> findByIdForUpdate(@Param("id") Long id);
+}
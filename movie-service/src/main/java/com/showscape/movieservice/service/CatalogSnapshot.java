@@ -0,0 +1,491 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Movie;
+
+import java.lang.reflect.Array;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable, columnar copy of the whole movie catalog.
+ * <p>
+ * Rows are kept sorted by id in parallel primitive arrays; genres are dictionary-encoded, with each row holding
+ * the codes of all its genres, primary genre first.
+ * Updates never modify an existing snapshot — {@link #withUpsert(Movie)} and {@link #withDelete(long)}
+ * return a new copy, so readers can use a snapshot without any locking.
+ */
+public final class CatalogSnapshot {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int[] NO_GENRES = new int[0];
+
+    private final long[] ids;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final int[] releaseEpochDays;
+    private final int[][] genreCodes;
+    private final double[] ratings;
+    private final String[] genreDictionary;
+    private final Map<String, Integer> genreCodesByName;
+    private final long highWaterMarkMillis;
+    private final long refreshedAtNanos;
+    private final List<String> distinctGenres;
+    private final List<Integer> distinctYears;
+
+    private CatalogSnapshot(long[] ids, String[] titles, String[] descriptions, int[] releaseEpochDays,
+                            int[][] genreCodes, double[] ratings, String[] genreDictionary, long highWaterMarkMillis,
+                            long refreshedAtNanos) {
+        this.ids = ids;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.releaseEpochDays = releaseEpochDays;
+        this.genreCodes = genreCodes;
+        this.ratings = ratings;
+        this.genreDictionary = genreDictionary;
+        this.highWaterMarkMillis = highWaterMarkMillis;
+        this.refreshedAtNanos = refreshedAtNanos;
+
+        Map<String, Integer> codesByName = new HashMap<>();
+        for (int code = 0; code < genreDictionary.length; code++) {
+            codesByName.put(genreDictionary[code], code);
+        }
+        this.genreCodesByName = Map.copyOf(codesByName);
+
+        TreeSet<String> genres = new TreeSet<>();
+        TreeSet<Integer> years = new TreeSet<>();
+        for (int row = 0; row < ids.length; row++) {
+            for (int code : genreCodes[row]) {
+                genres.add(genreDictionary[code]);
+            }
+            if (releaseEpochDays[row] != NO_DATE) {
+                years.add(LocalDate.ofEpochDay(releaseEpochDays[row]).getYear());
+            }
+        }
+        this.distinctGenres = List.copyOf(genres);
+        this.distinctYears = List.copyOf(years);
+    }
+
+    /**
+     * Builds a snapshot from a full load of the movies table.
+     *
+     * @param movies           every movie in the catalog
+     * @param refreshedAtNanos the {@link System#nanoTime()} at which the load started
+     * @return the new snapshot
+     */
+    public static CatalogSnapshot of(Collection<Movie> movies, long refreshedAtNanos) {
+        List<Movie> sorted = new ArrayList<>(movies);
+        sorted.sort(Comparator.comparing(Movie::getId));
+
+        int size = sorted.size();
+        long[] ids = new long[size];
+        String[] titles = new String[size];
+        String[] descriptions = new String[size];
+        int[] releaseEpochDays = new int[size];
+        int[][] genreCodes = new int[size][];
+        double[] ratings = new double[size];
+        Map<String, Integer> codesByName = new HashMap<>();
+        List<String> genreDictionary = new ArrayList<>();
+        long highWaterMarkMillis = 0;
+
+        for (int row = 0; row < size; row++) {
+            Movie movie = sorted.get(row);
+            ids[row] = movie.getId();
+            titles[row] = movie.getTitle();
+            descriptions[row] = movie.getDescription();
+            releaseEpochDays[row] = encodeDate(movie.getReleaseDate());
+            ratings[row] = encodeRating(movie.getRating());
+            highWaterMarkMillis = Math.max(highWaterMarkMillis, encodeTimestamp(movie.getUpdatedAt()));
+            genreCodes[row] = encodeGenres(movie.getGenreNames(), codesByName, genreDictionary);
+        }
+        return new CatalogSnapshot(ids, titles, descriptions, releaseEpochDays, genreCodes, ratings,
+                genreDictionary.toArray(String[]::new), highWaterMarkMillis, refreshedAtNanos);
+    }
+
+    /**
+     * Rebuilds a snapshot from its raw columns, as read back by {@link CatalogSnapshotFile}.
+     */
+    static CatalogSnapshot fromColumns(long[] ids, String[] titles, String[] descriptions, int[] releaseEpochDays,
+                                       int[][] genreCodes, double[] ratings, String[] genreDictionary,
+                                       long highWaterMarkMillis, long refreshedAtNanos) {
+        return new CatalogSnapshot(ids, titles, descriptions, releaseEpochDays, genreCodes, ratings, genreDictionary,
+                highWaterMarkMillis, refreshedAtNanos);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given movie inserted or replaced.
+     */
+    public CatalogSnapshot withUpsert(Movie movie) {
+        int row = Arrays.binarySearch(ids, movie.getId());
+        boolean insert = row < 0;
+        if (insert) {
+            row = -row - 1;
+        }
+        int size = insert ? ids.length + 1 : ids.length;
+
+        long[] newIds = copyWithSlot(ids, row, size, insert);
+        String[] newTitles = copyWithSlot(titles, row, size, insert);
+        String[] newDescriptions = copyWithSlot(descriptions, row, size, insert);
+        int[] newReleaseEpochDays = copyWithSlot(releaseEpochDays, row, size, insert);
+        int[][] newGenreCodes = copyWithSlot(genreCodes, row, size, insert);
+        double[] newRatings = copyWithSlot(ratings, row, size, insert);
+        List<String> newGenreDictionary = new ArrayList<>(Arrays.asList(genreDictionary));
+        Map<String, Integer> newGenreCodesByName = new HashMap<>(genreCodesByName);
+
+        newIds[row] = movie.getId();
+        newTitles[row] = movie.getTitle();
+        newDescriptions[row] = movie.getDescription();
+        newReleaseEpochDays[row] = encodeDate(movie.getReleaseDate());
+        newGenreCodes[row] = encodeGenres(movie.getGenreNames(), newGenreCodesByName, newGenreDictionary);
+        newRatings[row] = encodeRating(movie.getRating());
+        return new CatalogSnapshot(newIds, newTitles, newDescriptions, newReleaseEpochDays, newGenreCodes, newRatings,
+                newGenreDictionary.toArray(String[]::new), Math.max(highWaterMarkMillis, encodeTimestamp(movie.getUpdatedAt())),
+                refreshedAtNanos);
+    }
+
+    /**
+     * Returns a copy of this snapshot brought up to date in a single pass.
+     *
+     * @param changed movies created or updated since this snapshot was taken
+     * @param liveIds the ids of every movie currently in the catalog, sorted ascending; rows not listed are dropped
+     * @return the merged snapshot
+     */
+    public CatalogSnapshot withChanges(Collection<Movie> changed, long[] liveIds) {
+        Map<Long, Movie> changedById = new HashMap<>();
+        for (Movie movie : changed) {
+            changedById.put(movie.getId(), movie);
+        }
+        List<String> newGenreDictionary = new ArrayList<>(Arrays.asList(genreDictionary));
+        Map<String, Integer> newGenreCodes = new HashMap<>(genreCodesByName);
+        long newHighWaterMarkMillis = highWaterMarkMillis;
+
+        int size = 0;
+        long[] newIds = new long[liveIds.length];
+        String[] newTitles = new String[liveIds.length];
+        String[] newDescriptions = new String[liveIds.length];
+        int[] newReleaseEpochDays = new int[liveIds.length];
+        int[][] newGenreCodesByRow = new int[liveIds.length][];
+        double[] newRatings = new double[liveIds.length];
+
+        for (long id : liveIds) {
+            Movie movie = changedById.get(id);
+            if (movie != null) {
+                newIds[size] = id;
+                newTitles[size] = movie.getTitle();
+                newDescriptions[size] = movie.getDescription();
+                newReleaseEpochDays[size] = encodeDate(movie.getReleaseDate());
+                newRatings[size] = encodeRating(movie.getRating());
+                newGenreCodesByRow[size] = encodeGenres(movie.getGenreNames(), newGenreCodes, newGenreDictionary);
+                newHighWaterMarkMillis = Math.max(newHighWaterMarkMillis, encodeTimestamp(movie.getUpdatedAt()));
+                size++;
+                continue;
+            }
+            int row = Arrays.binarySearch(ids, id);
+            if (row >= 0) {
+                newIds[size] = id;
+                newTitles[size] = titles[row];
+                newDescriptions[size] = descriptions[row];
+                newReleaseEpochDays[size] = releaseEpochDays[row];
+                newRatings[size] = ratings[row];
+                newGenreCodesByRow[size] = genreCodes[row];
+                size++;
+            }
+        }
+        return new CatalogSnapshot(Arrays.copyOf(newIds, size), Arrays.copyOf(newTitles, size),
+                Arrays.copyOf(newDescriptions, size), Arrays.copyOf(newReleaseEpochDays, size),
+                Arrays.copyOf(newGenreCodesByRow, size), Arrays.copyOf(newRatings, size),
+                newGenreDictionary.toArray(String[]::new), newHighWaterMarkMillis, refreshedAtNanos);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given movies replaced in a single pass. Movies not in the snapshot
+     * are left out.
+     */
+    public CatalogSnapshot withUpdates(Collection<Movie> updated) {
+        return withChanges(updated, ids);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the given movies, in a single pass.
+     */
+    public CatalogSnapshot withDeletes(Collection<Long> deleted) {
+        Set<Long> deletedIds = new HashSet<>(deleted);
+        return withChanges(List.of(), Arrays.stream(ids).filter(id -> !deletedIds.contains(id)).toArray());
+    }
+
+    /**
+     * Returns a copy of this snapshot without the given movie, or this snapshot if it does not contain it.
+     */
+    public CatalogSnapshot withDelete(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        if (row < 0) {
+            return this;
+        }
+        return new CatalogSnapshot(copyWithoutSlot(ids, row), copyWithoutSlot(titles, row),
+                copyWithoutSlot(descriptions, row), copyWithoutSlot(releaseEpochDays, row),
+                copyWithoutSlot(genreCodes, row), copyWithoutSlot(ratings, row), genreDictionary, highWaterMarkMillis,
+                refreshedAtNanos);
+    }
+
+    /**
+     * Returns a copy of this snapshot that counts as fully reloaded at the given time.
+     */
+    public CatalogSnapshot withRefreshedAt(long refreshedAtNanos) {
+        return new CatalogSnapshot(ids, titles, descriptions, releaseEpochDays, genreCodes, ratings, genreDictionary,
+                highWaterMarkMillis, refreshedAtNanos);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the latest {@code updatedAt}, in epoch milliseconds, of any movie this snapshot has seen.
+     */
+    public long highWaterMarkMillis() {
+        return highWaterMarkMillis;
+    }
+
+    long[] ids() {
+        return ids;
+    }
+
+    /**
+     * Returns how long ago, in nanoseconds, this snapshot was last fully reloaded from the database.
+     */
+    public long ageNanos() {
+        return System.nanoTime() - refreshedAtNanos;
+    }
+
+    public Optional<MovieResponse> findById(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row < 0 ? Optional.empty() : Optional.of(toResponse(row));
+    }
+
+    public List<MovieResponse> findAll() {
+        List<MovieResponse> movies = new ArrayList<>(ids.length);
+        for (int row = 0; row < ids.length; row++) {
+            movies.add(toResponse(row));
+        }
+        return movies;
+    }
+
+    public List<MovieResponse> findByGenre(String genre) {
+        Integer code = genreCodesByName.get(genre);
+        if (code == null) {
+            return List.of();
+        }
+        List<MovieResponse> movies = new ArrayList<>();
+        for (int row = 0; row < ids.length; row++) {
+            if (hasGenre(row, code)) {
+                movies.add(toResponse(row));
+            }
+        }
+        return movies;
+    }
+
+    /**
+     * Returns the movies tagged with every one of the given genres.
+     */
+    public List<MovieResponse> findByAllGenres(Collection<String> genres) {
+        int[] codes = codesOf(genres);
+        if (codes == null) {
+            return List.of();
+        }
+        List<MovieResponse> movies = new ArrayList<>();
+        for (int row = 0; row < ids.length; row++) {
+            if (hasAllGenres(row, codes)) {
+                movies.add(toResponse(row));
+            }
+        }
+        return movies;
+    }
+
+    /**
+     * Counts the movies carrying each genre, within the movies tagged with every one of {@code genres}.
+     *
+     * @param genres the genres to narrow the counted movies to; all movies are counted when empty
+     * @return one facet per genre, most frequent first
+     */
+    public List<GenreFacet> genreFacets(Collection<String> genres) {
+        int[] codes = codesOf(genres);
+        if (codes == null) {
+            return List.of();
+        }
+        int[] counts = new int[genreDictionary.length];
+        for (int row = 0; row < ids.length; row++) {
+            if (hasAllGenres(row, codes)) {
+                for (int code : genreCodes[row]) {
+                    counts[code]++;
+                }
+            }
+        }
+        List<GenreFacet> facets = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                facets.add(new GenreFacet(genreDictionary[code], counts[code]));
+            }
+        }
+        facets.sort(GenreFacet.MOST_FREQUENT_FIRST);
+        return facets;
+    }
+
+    public List<MovieResponse> findByReleaseYear(int year) {
+        long firstDay = LocalDate.of(year, 1, 1).toEpochDay();
+        long lastDay = LocalDate.of(year, 12, 31).toEpochDay();
+        List<MovieResponse> movies = new ArrayList<>();
+        for (int row = 0; row < ids.length; row++) {
+            int epochDay = releaseEpochDays[row];
+            if (epochDay != NO_DATE && epochDay >= firstDay && epochDay <= lastDay) {
+                movies.add(toResponse(row));
+            }
+        }
+        return movies;
+    }
+
+    public List<String> distinctGenres() {
+        return distinctGenres;
+    }
+
+    public List<Integer> distinctYears() {
+        return distinctYears;
+    }
+
+    String[] titles() {
+        return titles;
+    }
+
+    String[] descriptions() {
+        return descriptions;
+    }
+
+    int[] releaseEpochDays() {
+        return releaseEpochDays;
+    }
+
+    int[][] genreCodes() {
+        return genreCodes;
+    }
+
+    double[] ratings() {
+        return ratings;
+    }
+
+    String[] genreDictionary() {
+        return genreDictionary;
+    }
+
+    private MovieResponse toResponse(int row) {
+        return MovieResponse.builder()
+                .id(ids[row])
+                .title(titles[row])
+                .description(descriptions[row])
+                .releaseDate(releaseEpochDays[row] == NO_DATE ? null : LocalDate.ofEpochDay(releaseEpochDays[row]))
+                .genre(genreCodes[row].length == 0 ? null : genreDictionary[genreCodes[row][0]])
+                .genres(genreNames(row))
+                .rating(Double.isNaN(ratings[row]) ? null : ratings[row])
+                .build();
+    }
+
+    private List<String> genreNames(int row) {
+        int[] codes = genreCodes[row];
+        String[] names = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            names[i] = genreDictionary[codes[i]];
+        }
+        return List.of(names);
+    }
+
+    private boolean hasGenre(int row, int code) {
+        for (int rowCode : genreCodes[row]) {
+            if (rowCode == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAllGenres(int row, int[] codes) {
+        for (int code : codes) {
+            if (!hasGenre(row, code)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns null if any genre is unknown, since then no movie can match them all
+    private int[] codesOf(Collection<String> genres) {
+        int[] codes = new int[genres.size()];
+        int i = 0;
+        for (String genre : genres) {
+            Integer code = genreCodesByName.get(genre);
+            if (code == null) {
+                return null;
+            }
+            codes[i++] = code;
+        }
+        return codes;
+    }
+
+    private static int[] encodeGenres(List<String> names, Map<String, Integer> codesByName,
+                                      List<String> genreDictionary) {
+        if (names.isEmpty()) {
+            return NO_GENRES;
+        }
+        int[] codes = new int[names.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = codesByName.computeIfAbsent(names.get(i), genre -> {
+                genreDictionary.add(genre);
+                return genreDictionary.size() - 1;
+            });
+        }
+        return codes;
+    }
+
+    private static int encodeDate(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long encodeTimestamp(Instant timestamp) {
+        return timestamp == null ? 0 : timestamp.toEpochMilli();
+    }
+
+    private static double encodeRating(Double rating) {
+        return rating == null ? Double.NaN : rating;
+    }
+
+    private static <T> T copyWithSlot(T source, int row, int size, boolean insert) {
+        @SuppressWarnings("unchecked")
+        T target = (T) Array.newInstance(source.getClass().getComponentType(), size);
+        int length = Array.getLength(source);
+        if (insert) {
+            System.arraycopy(source, 0, target, 0, row);
+            System.arraycopy(source, row, target, row + 1, length - row);
+        } else {
+            System.arraycopy(source, 0, target, 0, length);
+        }
+        return target;
+    }
+
+    private static <T> T copyWithoutSlot(T source, int row) {
+        int length = Array.getLength(source);
+        @SuppressWarnings("unchecked")
+        T target = (T) Array.newInstance(source.getClass().getComponentType(), length - 1);
+        System.arraycopy(source, 0, target, 0, row);
+        System.arraycopy(source, row + 1, target, row, length - row - 1);
+        return target;
+    }
+}
@@ -0,0 +1,200 @@
+package com.showscape.movieservice.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes {@link CatalogSnapshot}s in a compact binary file.
+ * <p>
+ * Layout (big-endian): magic, format version, row count, high-water mark, genre dictionary, then each column
+ * in turn — ids, release epoch-days, per-row genre counts, all genre codes and ratings as raw primitive arrays,
+ * titles and descriptions as length-prefixed UTF-8 — followed by a CRC32 of everything before it. Files are
+ * read through {@link FileChannel#map} so the primitive columns are bulk-copied straight out of the page cache.
+ */
+public final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x53534353; // "SSCS"
+    static final int FORMAT_VERSION = 2;
+
+    private static final int NULL_STRING = -1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and atomically moves it over {@code path}.
+     *
+     * @param snapshot the snapshot to persist
+     * @param path     the destination file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(CatalogSnapshot snapshot, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temporary)) {
+                DataOutputStream out = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(file), checksum));
+                writeBody(snapshot, out);
+                out.flush();
+                new DataOutputStream(file).writeLong(checksum.getValue());
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the file into memory, verifies it and rebuilds the snapshot it contains.
+     *
+     * @param path             the snapshot file
+     * @param refreshedAtNanos the {@link System#nanoTime()} to record as the snapshot's last reload
+     * @return the snapshot
+     * @throws IOException if the file cannot be read, has an unknown format or fails its checksum
+     */
+    public static CatalogSnapshot read(Path path, long refreshedAtNanos) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < Integer.BYTES * 2 + Long.BYTES) {
+                throw new IOException("Catalog snapshot file is truncated: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.slice(0, (int) fileSize - Long.BYTES));
+            if (checksum.getValue() != buffer.getLong((int) fileSize - Long.BYTES)) {
+                throw new IOException("Catalog snapshot file failed its checksum: " + path);
+            }
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot file: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot format version " + version + ": " + path);
+            }
+            return readBody(buffer, refreshedAtNanos);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException | ArithmeticException ex) {
+            throw new IOException("Catalog snapshot file is malformed: " + path, ex);
+        }
+    }
+
+    private static void writeBody(CatalogSnapshot snapshot, DataOutputStream out) throws IOException {
+        long[] ids = snapshot.ids();
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(ids.length);
+        out.writeLong(snapshot.highWaterMarkMillis());
+
+        String[] genreDictionary = snapshot.genreDictionary();
+        out.writeInt(genreDictionary.length);
+        for (String genre : genreDictionary) {
+            writeString(out, genre);
+        }
+        for (long id : ids) {
+            out.writeLong(id);
+        }
+        for (int epochDay : snapshot.releaseEpochDays()) {
+            out.writeInt(epochDay);
+        }
+        int[][] genreCodes = snapshot.genreCodes();
+        for (int[] rowCodes : genreCodes) {
+            out.writeInt(rowCodes.length);
+        }
+        for (int[] rowCodes : genreCodes) {
+            for (int genreCode : rowCodes) {
+                out.writeInt(genreCode);
+            }
+        }
+        for (double rating : snapshot.ratings()) {
+            out.writeDouble(rating);
+        }
+        for (String title : snapshot.titles()) {
+            writeString(out, title);
+        }
+        for (String description : snapshot.descriptions()) {
+            writeString(out, description);
+        }
+    }
+
+    private static CatalogSnapshot readBody(ByteBuffer buffer, long refreshedAtNanos) {
+        int rowCount = buffer.getInt();
+        long highWaterMarkMillis = buffer.getLong();
+
+        String[] genreDictionary = new String[buffer.getInt()];
+        for (int code = 0; code < genreDictionary.length; code++) {
+            genreDictionary[code] = readString(buffer);
+        }
+
+        long[] ids = new long[rowCount];
+        buffer.asLongBuffer().get(ids);
+        buffer.position(buffer.position() + rowCount * Long.BYTES);
+
+        int[] releaseEpochDays = new int[rowCount];
+        buffer.asIntBuffer().get(releaseEpochDays);
+        buffer.position(buffer.position() + rowCount * Integer.BYTES);
+
+        int[] genreCounts = new int[rowCount];
+        buffer.asIntBuffer().get(genreCounts);
+        buffer.position(buffer.position() + rowCount * Integer.BYTES);
+        int[] allGenreCodes = new int[Math.toIntExact(Arrays.stream(genreCounts).asLongStream().sum())];
+        buffer.asIntBuffer().get(allGenreCodes);
+        buffer.position(buffer.position() + allGenreCodes.length * Integer.BYTES);
+        int[][] genreCodes = new int[rowCount][];
+        for (int row = 0, offset = 0; row < rowCount; offset += genreCounts[row], row++) {
+            genreCodes[row] = Arrays.copyOfRange(allGenreCodes, offset, offset + genreCounts[row]);
+        }
+
+        double[] ratings = new double[rowCount];
+        buffer.asDoubleBuffer().get(ratings);
+        buffer.position(buffer.position() + rowCount * Double.BYTES);
+
+        String[] titles = new String[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            titles[row] = readString(buffer);
+        }
+        String[] descriptions = new String[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            descriptions[row] = readString(buffer);
+        }
+        return CatalogSnapshot.fromColumns(ids, titles, descriptions, releaseEpochDays, genreCodes, ratings,
+                genreDictionary, highWaterMarkMillis, refreshedAtNanos);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
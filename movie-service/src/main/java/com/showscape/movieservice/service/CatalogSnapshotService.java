@@ -0,0 +1,179 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.CatalogSnapshotProperties;
+import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the in-memory {@link CatalogSnapshot} current and decides whether it is fresh enough to serve reads.
+ * <p>
+ * The snapshot is reloaded in full on a fixed schedule, which bounds how stale it can get from writes made by
+ * other instances. Writes made through this instance are applied incrementally as soon as they commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotService {
+
+    private final MovieRepository movieRepository;
+    private final CatalogSnapshotProperties properties;
+
+    private volatile CatalogSnapshot snapshot;
+    private long changeSequence;
+    private final Deque<Change> recentChanges = new ArrayDeque<>();
+
+    /**
+     * Returns the snapshot if snapshot mode is enabled and the snapshot is within the staleness bound.
+     *
+     * @return the current snapshot, or empty if reads must go to the database
+     */
+    public Optional<CatalogSnapshot> current() {
+        CatalogSnapshot current = snapshot;
+        if (!properties.enabled() || current == null || current.ageNanos() > properties.maxStaleness().toNanos()) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Reloads the whole catalog from the database and replays any local writes that committed during the load.
+     * <p>
+     * On the first run after startup the snapshot file, if configured, is loaded instead and caught up with
+     * only the rows changed since it was written.
+     */
+    @Scheduled(fixedDelayString = "${showscape.snapshot.refresh-interval:1m}")
+    public void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long startSequence;
+        synchronized (this) {
+            startSequence = changeSequence;
+        }
+        CatalogSnapshot loaded = snapshot == null ? loadFromFile() : null;
+        if (loaded == null) {
+            loaded = CatalogSnapshot.of(movieRepository.findAll(), System.nanoTime());
+        }
+
+        synchronized (this) {
+            recentChanges.removeIf(change -> change.sequence() <= startSequence);
+            for (Change change : recentChanges) {
+                loaded = change.operation().apply(loaded);
+            }
+            snapshot = loaded;
+        }
+        log.debug("Catalog snapshot reloaded with {} movies", loaded.size());
+    }
+
+    /**
+     * Writes the current snapshot to the snapshot file so the next startup can skip the full reload.
+     */
+    @Scheduled(initialDelayString = "${showscape.snapshot.file.write-interval:10m}",
+            fixedDelayString = "${showscape.snapshot.file.write-interval:10m}")
+    public void persist() {
+        Path path = properties.file().path();
+        CatalogSnapshot current = snapshot;
+        if (!properties.enabled() || path == null || current == null) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(current, path);
+            log.debug("Catalog snapshot with {} movies written to {}", current.size(), path);
+        } catch (IOException ex) {
+            log.warn("Failed to write catalog snapshot file {}", path, ex);
+        }
+    }
+
+    /**
+     * Applies a created or updated movie to the snapshot once the surrounding transaction commits.
+     */
+    public void movieSaved(Movie movie) {
+        afterCommit(current -> current.withUpsert(movie));
+    }
+
+    /**
+     * Removes a deleted movie from the snapshot once the surrounding transaction commits.
+     */
+    public void movieDeleted(long id) {
+        afterCommit(current -> current.withDelete(id));
+    }
+
+    /**
+     * Applies movies changed by a bulk update to the snapshot once the surrounding transaction commits.
+     */
+    public void moviesUpdated(Collection<Movie> movies) {
+        afterCommit(current -> current.withUpdates(movies));
+    }
+
+    /**
+     * Removes movies deleted in bulk from the snapshot once the surrounding transaction commits.
+     */
+    public void moviesDeleted(Collection<Long> ids) {
+        afterCommit(current -> current.withDeletes(ids));
+    }
+
+    private CatalogSnapshot loadFromFile() {
+        Path path = properties.file().path();
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        long startedAt = System.nanoTime();
+        CatalogSnapshot fromFile;
+        try {
+            fromFile = CatalogSnapshotFile.read(path, startedAt);
+        } catch (IOException ex) {
+            log.warn("Ignoring unusable catalog snapshot file {}; reloading from the database", path, ex);
+            return null;
+        }
+
+        Instant since = Instant.ofEpochMilli(fromFile.highWaterMarkMillis()).minus(properties.file().catchUpOverlap());
+        List<Movie> changed = movieRepository.findByUpdatedAtAfter(since);
+        long[] liveIds = movieRepository.findAllIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        log.info("Catalog snapshot loaded from {} with {} movies; caught up {} changed since {}",
+                path, fromFile.size(), changed.size(), since);
+        return fromFile.withChanges(changed, liveIds);
+    }
+
+    private void afterCommit(UnaryOperator<CatalogSnapshot> operation) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private synchronized void apply(UnaryOperator<CatalogSnapshot> operation) {
+        recentChanges.addLast(new Change(++changeSequence, operation));
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = operation.apply(current);
+        }
+    }
+
+    private record Change(long sequence, UnaryOperator<CatalogSnapshot> operation) {}
+}
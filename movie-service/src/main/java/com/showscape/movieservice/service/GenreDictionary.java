@@ -0,0 +1,136 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.repository.GenreRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of the {@code genres} table, mapping genre names to their integer ids and back.
+ * <p>
+ * Lookups never touch the database while the name is known. An unknown name triggers a reload, at most once
+ * per {@link #RELOAD_INTERVAL_NANOS}, so genres created by other instances are picked up. Genres created here
+ * are added only once the creating transaction commits.
+ */
+@Component
+public class GenreDictionary {
+
+    private static final long RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GenreRepository genreRepository;
+    private volatile Entries entries = new Entries(Map.of(), Map.of());
+    private volatile long loadedAtNanos = System.nanoTime() - RELOAD_INTERVAL_NANOS;
+
+    public GenreDictionary(GenreRepository genreRepository) {
+        this.genreRepository = genreRepository;
+    }
+
+    /**
+     * Returns the id of the named genre, if it exists.
+     */
+    public Optional<Short> idOf(String name) {
+        Short id = entries.idsByName().get(name);
+        if (id == null && System.nanoTime() - loadedAtNanos >= RELOAD_INTERVAL_NANOS) {
+            reload();
+            id = entries.idsByName().get(name);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Returns the ids of all the named genres, or empty if any of them does not exist.
+     */
+    public Optional<List<Short>> idsOf(Collection<String> names) {
+        List<Short> ids = new ArrayList<>(names.size());
+        for (String name : new LinkedHashSet<>(names)) {
+            Optional<Short> id = idOf(name);
+            if (id.isEmpty()) {
+                return Optional.empty();
+            }
+            ids.add(id.get());
+        }
+        return Optional.of(ids);
+    }
+
+    /**
+     * Returns the name of the genre with the given id, or {@code null} if it is unknown.
+     */
+    public String nameOf(short id) {
+        String name = entries.namesById().get(id);
+        if (name == null) {
+            reload();
+            name = entries.namesById().get(id);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the named genres in order, creating any that do not exist yet. Duplicate names are dropped.
+     */
+    @Transactional
+    public List<Genre> resolve(Collection<String> names) {
+        List<Genre> genres = new ArrayList<>(names.size());
+        for (String name : new LinkedHashSet<>(names)) {
+            Short id = entries.idsByName().get(name);
+            genres.add(id != null ? new Genre(id, name) : findOrCreate(name));
+        }
+        return genres;
+    }
+
+    /**
+     * Reloads the dictionary from the {@code genres} table.
+     */
+    public synchronized void reload() {
+        Map<String, Short> idsByName = new HashMap<>();
+        Map<Short, String> namesById = new HashMap<>();
+        for (Genre genre : genreRepository.findAll()) {
+            idsByName.put(genre.getName(), genre.getId());
+            namesById.put(genre.getId(), genre.getName());
+        }
+        entries = new Entries(Map.copyOf(idsByName), Map.copyOf(namesById));
+        loadedAtNanos = System.nanoTime();
+    }
+
+    private Genre findOrCreate(String name) {
+        Optional<Genre> existing = genreRepository.findByName(name);
+        if (existing.isPresent()) {
+            add(existing.get());
+            return existing.get();
+        }
+        genreRepository.insertIfAbsent(name);
+        Genre created = genreRepository.findByName(name).orElseThrow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(created);
+                }
+            });
+        } else {
+            add(created);
+        }
+        return created;
+    }
+
+    private synchronized void add(Genre genre) {
+        Map<String, Short> idsByName = new HashMap<>(entries.idsByName());
+        Map<Short, String> namesById = new HashMap<>(entries.namesById());
+        idsByName.put(genre.getName(), genre.getId());
+        namesById.put(genre.getId(), genre.getName());
+        entries = new Entries(Map.copyOf(idsByName), Map.copyOf(namesById));
+    }
+
+    private record Entries(Map<String, Short> idsByName, Map<Short, String> namesById) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.IdempotencyProperties;
+import com.showscape.movieservice.dto.MovieRequest;
+import com.showscape.movieservice.entity.IdempotencyRecord;
+import com.showscape.movieservice.exception.IdempotencyKeyReuseException;
+import com.showscape.movieservice.exception.InvalidIdempotencyKeyException;
+import com.showscape.movieservice.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Stores {@code Idempotency-Key}s of create requests in the database, each with a fingerprint of its request and
+ * the id of the movie it created.
+ * <p>
+ * A key is claimed in the transaction that creates the movie, so a retry racing the original request waits for it
+ * and then sees its outcome: the movie if it committed, a fresh claim if it rolled back. Keys expire after
+ * {@code showscape.idempotency.ttl} and are purged in the background.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+
+    /**
+     * Claims the key for the request, unless an earlier request already used it.
+     *
+     * @param idempotencyKey the client's key
+     * @param request        the create request
+     * @return the id of the movie an earlier request with this key created, or empty if this call claimed the key
+     * @throws InvalidIdempotencyKeyException if the key is blank or too long
+     * @throws IdempotencyKeyReuseException   if the key was used with a different request
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Long> claim(String idempotencyKey, MovieRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        long requestHash = requestHash(request);
+        Instant now = Instant.now();
+        if (repository.claim(idempotencyKey, requestHash, now.plus(properties.ttl()), now) > 0) {
+            return Optional.empty();
+        }
+        IdempotencyRecord existing = repository.findById(idempotencyKey)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key vanished while claiming it"));
+        if (existing.getRequestHash() != requestHash) {
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency-Key '" + idempotencyKey + "' was already used for a different request");
+        }
+        return Optional.of(existing.getMovieId());
+    }
+
+    /**
+     * Records the movie created under a key claimed in the current transaction.
+     *
+     * @param idempotencyKey the claimed key
+     * @param movieId        the id of the created movie
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(String idempotencyKey, long movieId) {
+        repository.complete(idempotencyKey, movieId);
+    }
+
+    @Scheduled(fixedDelayString = "${showscape.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    static long requestHash(MovieRequest request) {
+        String canonical = String.join("\0", request.title(), String.valueOf(request.description()),
+                String.valueOf(request.releaseDate()), request.genre(), String.valueOf(request.genres()),
+                String.valueOf(request.rating()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.dto.MovieResponse;
+
+/**
+ * The outcome of an idempotent create.
+ *
+ * @param movie    the created movie
+ * @param replayed whether the movie was created by an earlier request with the same idempotency key
+ */
+public record MovieCreation(MovieResponse movie, boolean replayed) {}
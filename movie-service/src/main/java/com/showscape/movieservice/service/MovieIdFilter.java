@@ -0,0 +1,118 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.MovieIdFilterProperties;
+import com.showscape.movieservice.config.ReadYourWritesContext;
+import com.showscape.movieservice.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Rejects lookups of movie IDs that do not exist without querying the database, using a {@link LongBloomFilter}
+ * over every movie ID.
+ * <p>
+ * The filter is rebuilt from the database every {@code showscape.id-filter.rebuild-interval}; movies created
+ * through this instance are added as soon as they commit. Deleted IDs stay in the filter until the next rebuild and
+ * just cost a query. A movie created by another instance is reported missing here until the next rebuild, which is
+ * why the filter is off unless enabled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MovieIdFilter {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final MovieRepository movieRepository;
+    private final MovieIdFilterProperties properties;
+
+    private volatile LongBloomFilter filter;
+    private long saveSequence;
+    private final Deque<Save> recentSaves = new ArrayDeque<>();
+
+    /**
+     * @return {@code false} if the movie certainly does not exist; {@code true} if it may, or the filter is
+     *         disabled or not yet built
+     */
+    public boolean mightExist(long id) {
+        LongBloomFilter current = filter;
+        return !properties.enabled() || current == null || current.mightContain(id);
+    }
+
+    /**
+     * Adds a created movie's ID to the filter once the surrounding transaction commits.
+     */
+    public void movieSaved(long id) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(id);
+                }
+            });
+        } else {
+            add(id);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from every movie ID in the database, sized for twice as many, and adds any IDs saved
+     * while the table was being read.
+     * <p>
+     * The IDs are read from the primary: a lagging replica could miss movies saved here before the read started,
+     * which are no longer replayed.
+     */
+    @Scheduled(fixedDelayString = "${showscape.id-filter.rebuild-interval:1m}")
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long startSequence;
+        synchronized (this) {
+            startSequence = saveSequence;
+        }
+        List<Long> ids = readIdsFromPrimary();
+        LongBloomFilter rebuilt = new LongBloomFilter(Math.max(2L * ids.size(), MIN_CAPACITY),
+                properties.falsePositiveRate());
+        ids.forEach(rebuilt::put);
+
+        synchronized (this) {
+            recentSaves.removeIf(save -> save.sequence() <= startSequence);
+            recentSaves.forEach(save -> rebuilt.put(save.id()));
+            filter = rebuilt;
+        }
+        log.debug("Movie ID filter rebuilt with {} IDs", ids.size());
+    }
+
+    private List<Long> readIdsFromPrimary() {
+        boolean alreadyPinned = ReadYourWritesContext.isPinnedToPrimary();
+        ReadYourWritesContext.pinToPrimary();
+        try {
+            return movieRepository.findAllIds();
+        } finally {
+            if (!alreadyPinned) {
+                ReadYourWritesContext.clear();
+            }
+        }
+    }
+
+    private synchronized void add(long id) {
+        recentSaves.addLast(new Save(++saveSequence, id));
+        LongBloomFilter current = filter;
+        if (current != null) {
+            current.put(id);
+        }
+    }
+
+    private record Save(long sequence, long id) {}
+}
@@ -1,40 +1,108 @@
 package com.showscape.movieservice.service;
 
+import com.showscape.movieservice.cache.ResponseBodyCache;
+import com.showscape.movieservice.dto.BulkMovieFilter;
+import com.showscape.movieservice.dto.BulkMovieUpdate;
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieField;
 import com.showscape.movieservice.dto.MovieRequest;
 import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Genre;
 import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.exception.IdempotencyKeyReuseException;
+import com.showscape.movieservice.exception.InvalidBulkOperationException;
+import com.showscape.movieservice.exception.MovieAlreadyExistsException;
 import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.repository.GenreCount;
+import com.showscape.movieservice.repository.MovieFilter;
 import com.showscape.movieservice.repository.MovieRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for managing movie-related operations.
+ * <p>
+ * Reads are served from the in-memory {@link CatalogSnapshot} when snapshot mode is enabled and the snapshot is
+ * fresh; otherwise they run as read-only repository transactions, which replica routing sends to a replica.
+ * Concurrent identical database reads are collapsed into one query by the {@link RequestCoalescer}.
+ * Writes invalidate the {@link ResponseBodyCache} once they commit. Genre names are translated to and from
+ * their dictionary ids by the {@link GenreDictionary}, so genre queries compare integer keys. Duplicate movies are
+ * rejected by the unique index on their natural-key hash when the insert is flushed, without a lookup beforehand.
  */
 @Service
 @RequiredArgsConstructor
 public class MovieService {
 
     private final MovieRepository movieRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final RequestCoalescer requestCoalescer;
+    private final ResponseBodyCache responseBodyCache;
+    private final GenreDictionary genreDictionary;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final MovieVoteService movieVoteService;
+    private final SimilarMovieService similarMovieService;
+    private final MovieIdFilter movieIdFilter;
+    private final SeatHoldService seatHoldService;
 
     /**
      * Creates a new movie entry in the database.
      *
      * @param movieRequest the request object containing movie details
      * @return the created movie response
+     * @throws MovieAlreadyExistsException if a movie with the same title and release date exists
      */
+    @Transactional
     public MovieResponse createMovie(MovieRequest movieRequest) {
         Movie movie = Movie.builder()
                 .id(null) // ID will be generated by DB
                 .title(movieRequest.title())
                 .description(movieRequest.description())
                 .releaseDate(movieRequest.releaseDate())
-                .genre(movieRequest.genre())
+                .genres(new ArrayList<>(genreDictionary.resolve(genreNames(movieRequest))))
                 .rating(movieRequest.rating())
                 .build();
-        return mapToMovieResponse(movieRepository.save(movie));
+        Movie savedMovie = saveUnique(movie);
+        catalogSnapshotService.movieSaved(savedMovie);
+        similarMovieService.movieSaved(savedMovie);
+        movieIdFilter.movieSaved(savedMovie.getId());
+        responseBodyCache.invalidate();
+        requestCoalescer.writeCommitted();
+        return mapToMovieResponse(savedMovie);
+    }
+
+    /**
+     * Creates a new movie once per idempotency key. A retry with the same key and request returns the movie the
+     * first request created.
+     *
+     * @param movieRequest   the request object containing movie details
+     * @param idempotencyKey the client-chosen key identifying this create
+     * @return the created movie and whether it was created by an earlier request
+     * @throws MovieAlreadyExistsException if a movie with the same title and release date exists
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     */
+    @Transactional
+    public MovieCreation createMovie(MovieRequest movieRequest, String idempotencyKey) {
+        Optional<Long> createdMovieId = idempotencyKeyStore.claim(idempotencyKey, movieRequest);
+        if (createdMovieId.isPresent()) {
+            Movie movie = movieRepository.findById(createdMovieId.get())
+                    .orElseThrow(() -> new MovieNotFoundException(createdMovieId.get()));
+            return new MovieCreation(mapToMovieResponse(movie), true);
+        }
+        MovieResponse movie = createMovie(movieRequest);
+        idempotencyKeyStore.complete(idempotencyKey, movie.id());
+        return new MovieCreation(movie, false);
     }
 
     /**
@@ -45,9 +113,68 @@ public class MovieService {
      * @throws MovieNotFoundException if the movie is not found
      */
     public MovieResponse getMovieById(Long id) {
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
-        return mapToMovieResponse(movie);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findById(id)
+                    .orElseThrow(() -> new MovieNotFoundException(id));
+        }
+        if (!movieIdFilter.mightExist(id)) {
+            throw new MovieNotFoundException(id);
+        }
+        return requestCoalescer.execute("getMovieById", id, () -> {
+            Movie movie = movieRepository.findById(id)
+                    .orElseThrow(() -> new MovieNotFoundException(id));
+            return mapToMovieResponse(movie);
+        });
+    }
+
+    /**
+     * Retrieves the movies with the given IDs in one query, skipping IDs with no movie.
+     *
+     * @param ids the IDs of the movies
+     * @return the movie responses, in no particular order
+     */
+    public List<MovieResponse> getMoviesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return ids.stream()
+                    .distinct()
+                    .flatMap(id -> snapshot.get().findById(id).stream())
+                    .toList();
+        }
+        return movieRepository.findAllById(ids).stream()
+                .map(this::mapToMovieResponse)
+                .toList();
+    }
+
+    /**
+     * Retrieves a movie by its ID, loading only the selected fields.
+     *
+     * @param id     the ID of the movie
+     * @param fields the fields to populate; all others are left {@code null}
+     * @return the movie response
+     * @throws MovieNotFoundException if the movie is not found
+     */
+    public MovieResponse getMovieById(Long id, Set<MovieField> fields) {
+        Set<MovieField> selected = EnumSet.copyOf(fields);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findById(id)
+                    .map(movie -> project(movie, selected))
+                    .orElseThrow(() -> new MovieNotFoundException(id));
+        }
+        if (!movieIdFilter.mightExist(id)) {
+            throw new MovieNotFoundException(id);
+        }
+        List<MovieResponse> movies = requestCoalescer.execute("getMovieById", List.of(id, selected), () ->
+                movieRepository.findProjected(MovieFilter.byId(id), selected));
+        if (movies.isEmpty()) {
+            throw new MovieNotFoundException(id);
+        }
+        return movies.get(0);
     }
 
     /**
@@ -56,9 +183,23 @@ public class MovieService {
      * @return a list of movie responses
      */
     public List<MovieResponse> getAllMovies() {
-        return movieRepository.findAll().stream()
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findAll();
+        }
+        return requestCoalescer.execute("getAllMovies", null, () -> movieRepository.findAll().stream()
                 .map(this::mapToMovieResponse)
-                .toList();
+                .toList());
+    }
+
+    /**
+     * Retrieves all movies, loading only the selected fields.
+     *
+     * @param fields the fields to populate; all others are left {@code null}
+     * @return a list of movie responses
+     */
+    public List<MovieResponse> getAllMovies(Set<MovieField> fields) {
+        return findProjected("getAllMovies", MovieFilter.all(), fields, CatalogSnapshot::findAll);
     }
 
     /**
@@ -68,18 +209,26 @@ public class MovieService {
      * @param movieRequest the request object containing updated movie details
      * @return the updated movie response
      * @throws MovieNotFoundException if the movie is not found
+     * @throws MovieAlreadyExistsException if another movie has the new title and release date
      */
+    @Transactional
     public MovieResponse updateMovie(Long id, MovieRequest movieRequest) {
         Movie existingMovie = movieRepository.findById(id)
-                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id: " + id));
+                .orElseThrow(() -> new MovieNotFoundException(id));
 
         existingMovie.setTitle(movieRequest.title());
         existingMovie.setDescription(movieRequest.description());
         existingMovie.setReleaseDate(movieRequest.releaseDate());
-        existingMovie.setGenre(movieRequest.genre());
+        existingMovie.getGenres().clear();
+        existingMovie.getGenres().addAll(genreDictionary.resolve(genreNames(movieRequest)));
         existingMovie.setRating(movieRequest.rating());
 
-        return mapToMovieResponse(movieRepository.save(existingMovie));
+        Movie savedMovie = saveUnique(existingMovie);
+        catalogSnapshotService.movieSaved(savedMovie);
+        similarMovieService.movieSaved(savedMovie);
+        responseBodyCache.invalidate();
+        requestCoalescer.writeCommitted();
+        return mapToMovieResponse(savedMovie);
     }
 
     /**
@@ -88,11 +237,78 @@ public class MovieService {
      * @param id the ID of the movie to delete
      * @throws MovieNotFoundException if the movie is not found
      */
+    @Transactional
     public void deleteMovie(Long id) {
         if (!movieRepository.existsById(id)) {
-            throw new MovieNotFoundException("Movie not found with id: " + id);
+            throw new MovieNotFoundException(id);
         }
         movieRepository.deleteById(id);
+        movieVoteService.movieDeleted(id);
+        catalogSnapshotService.movieDeleted(id);
+        similarMovieService.movieDeleted(id);
+        seatHoldService.movieDeleted(id);
+        responseBodyCache.invalidate();
+        requestCoalescer.writeCommitted();
+    }
+
+    /**
+     * Changes every movie matching the filter with set-based statements rather than one round trip per movie.
+     *
+     * @param filter the movies to change
+     * @param update the changes; fields left {@code null} are kept
+     * @return the number of movies changed
+     * @throws InvalidBulkOperationException if the filter or the update is empty, or the years are reversed
+     */
+    @Transactional
+    public int updateMovies(BulkMovieFilter filter, BulkMovieUpdate update) {
+        if (update.genres() == null && update.rating() == null) {
+            throw new InvalidBulkOperationException("A bulk update must change genres or rating");
+        }
+        if (update.genres() != null && update.genres().isEmpty()) {
+            throw new InvalidBulkOperationException("A bulk update cannot remove every genre");
+        }
+        Optional<MovieFilter> movieFilter = toMovieFilter(filter);
+        if (movieFilter.isEmpty()) {
+            return 0;
+        }
+        List<Short> genreIds = update.genres() == null ? null
+                : genreDictionary.resolve(update.genres()).stream()
+                        .map(Genre::getId)
+                        .toList();
+        List<Long> updatedIds = movieRepository.updateMatching(movieFilter.get(), update.rating(), genreIds);
+        if (!updatedIds.isEmpty()) {
+            List<Movie> updatedMovies = movieRepository.findAllById(updatedIds);
+            catalogSnapshotService.moviesUpdated(updatedMovies);
+            similarMovieService.moviesUpdated(updatedMovies);
+            responseBodyCache.invalidate();
+            requestCoalescer.writeCommitted();
+        }
+        return updatedIds.size();
+    }
+
+    /**
+     * Deletes every movie matching the filter in a single statement.
+     *
+     * @param filter the movies to delete
+     * @return the number of movies deleted
+     * @throws InvalidBulkOperationException if the filter is empty or the years are reversed
+     */
+    @Transactional
+    public int deleteMovies(BulkMovieFilter filter) {
+        Optional<MovieFilter> movieFilter = toMovieFilter(filter);
+        if (movieFilter.isEmpty()) {
+            return 0;
+        }
+        List<Long> deletedIds = movieRepository.deleteMatching(movieFilter.get());
+        if (!deletedIds.isEmpty()) {
+            movieVoteService.moviesDeleted(deletedIds);
+            catalogSnapshotService.moviesDeleted(deletedIds);
+            similarMovieService.moviesDeleted(deletedIds);
+            seatHoldService.moviesDeleted(deletedIds);
+            responseBodyCache.invalidate();
+            requestCoalescer.writeCommitted();
+        }
+        return deletedIds.size();
     }
 
     /**
@@ -102,8 +318,88 @@ public class MovieService {
      * @return a list of movie responses matching the genre
      */
     public List<MovieResponse> getMoviesByGenre(String genre) {
-        return movieRepository.findByGenre(genre).stream()
-                .map(this::mapToMovieResponse)
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findByGenre(genre);
+        }
+        Optional<Short> genreId = genreDictionary.idOf(genre);
+        if (genreId.isEmpty()) {
+            return List.of();
+        }
+        return requestCoalescer.execute("getMoviesByGenre", genreId.get(), () ->
+                movieRepository.findByGenreId(genreId.get()).stream()
+                        .map(this::mapToMovieResponse)
+                        .toList());
+    }
+
+    /**
+     * Retrieves movies by genre, loading only the selected fields.
+     *
+     * @param genre  the genre to filter movies by
+     * @param fields the fields to populate; all others are left {@code null}
+     * @return a list of movie responses matching the genre
+     */
+    public List<MovieResponse> getMoviesByGenre(String genre, Set<MovieField> fields) {
+        Optional<Short> genreId = genreDictionary.idOf(genre);
+        if (genreId.isEmpty()) {
+            return List.of();
+        }
+        return findProjected("getMoviesByGenre", MovieFilter.byGenre(genreId.get()), fields,
+                snapshot -> snapshot.findByGenre(genre));
+    }
+
+    /**
+     * Retrieves the movies tagged with every one of the given genres.
+     *
+     * @param genres the genres each movie must carry
+     * @return a list of movie responses, ordered by id
+     */
+    public List<MovieResponse> getMoviesByGenres(List<String> genres) {
+        if (genres.isEmpty()) {
+            return getAllMovies();
+        }
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findByAllGenres(genres);
+        }
+        Optional<List<Short>> genreIds = genreDictionary.idsOf(genres);
+        if (genreIds.isEmpty()) {
+            return List.of();
+        }
+        List<Short> ids = genreIds.get().stream().sorted().toList();
+        return requestCoalescer.execute("getMoviesByGenres", ids, () ->
+                movieRepository.findByAllGenreIds(ids, ids.size()).stream()
+                        .map(this::mapToMovieResponse)
+                        .toList());
+    }
+
+    /**
+     * Counts the movies carrying each genre, optionally within the movies tagged with every one of
+     * {@code genres}.
+     *
+     * @param genres the genres to narrow the counted movies to; all movies are counted when empty
+     * @return one facet per genre, most frequent first
+     */
+    public List<GenreFacet> getGenreFacets(List<String> genres) {
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().genreFacets(genres);
+        }
+        List<GenreCount> counts;
+        if (genres.isEmpty()) {
+            counts = requestCoalescer.execute("getGenreFacets", List.of(), movieRepository::countMoviesByGenre);
+        } else {
+            Optional<List<Short>> genreIds = genreDictionary.idsOf(genres);
+            if (genreIds.isEmpty()) {
+                return List.of();
+            }
+            List<Short> ids = genreIds.get().stream().sorted().toList();
+            counts = requestCoalescer.execute("getGenreFacets", ids, () ->
+                    movieRepository.countMoviesByGenre(ids, ids.size()));
+        }
+        return counts.stream()
+                .map(count -> new GenreFacet(genreDictionary.nameOf(count.genreId()), count.movieCount()))
+                .sorted(GenreFacet.MOST_FREQUENT_FIRST)
                 .toList();
     }
 
@@ -114,9 +410,26 @@ public class MovieService {
      * @return a list of movie responses matching the release year
      */
     public List<MovieResponse> getMoviesByReleaseYear(int year) {
-        return movieRepository.findByReleaseYear(year).stream()
-                .map(this::mapToMovieResponse)
-                .toList();
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().findByReleaseYear(year);
+        }
+        return requestCoalescer.execute("getMoviesByReleaseYear", year, () ->
+                movieRepository.findByReleaseYear(year).stream()
+                        .map(this::mapToMovieResponse)
+                        .toList());
+    }
+
+    /**
+     * Retrieves movies by release year, loading only the selected fields.
+     *
+     * @param year   the release year to filter movies by
+     * @param fields the fields to populate; all others are left {@code null}
+     * @return a list of movie responses matching the release year
+     */
+    public List<MovieResponse> getMoviesByReleaseYear(int year, Set<MovieField> fields) {
+        return findProjected("getMoviesByReleaseYear", MovieFilter.byReleaseYear(year), fields,
+                snapshot -> snapshot.findByReleaseYear(year));
     }
 
     /**
@@ -125,7 +438,11 @@ public class MovieService {
      * @return a list of distinct genres
      */
     public List<String> getDistinctGenres() {
-        return movieRepository.findDistinctGenres();
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().distinctGenres();
+        }
+        return requestCoalescer.execute("getDistinctGenres", null, movieRepository::findDistinctGenres);
     }
 
     /**
@@ -134,7 +451,36 @@ public class MovieService {
      * @return a list of distinct release years
      */
     public List<Integer> getDistinctYears() {
-        return movieRepository.findDistinctReleaseYears();
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().distinctYears();
+        }
+        return requestCoalescer.execute("getDistinctYears", null, movieRepository::findDistinctReleaseYears);
+    }
+
+    private List<MovieResponse> findProjected(String operation, MovieFilter filter, Set<MovieField> fields,
+                                              Function<CatalogSnapshot, List<MovieResponse>> snapshotQuery) {
+        Set<MovieField> selected = EnumSet.copyOf(fields);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent()) {
+            return snapshotQuery.apply(snapshot.get()).stream()
+                    .map(movie -> project(movie, selected))
+                    .toList();
+        }
+        return requestCoalescer.execute(operation, List.of(filter, selected), () ->
+                movieRepository.findProjected(filter, selected));
+    }
+
+    private MovieResponse project(MovieResponse movie, Set<MovieField> fields) {
+        return MovieResponse.builder()
+                .id(fields.contains(MovieField.ID) ? movie.id() : null)
+                .title(fields.contains(MovieField.TITLE) ? movie.title() : null)
+                .description(fields.contains(MovieField.DESCRIPTION) ? movie.description() : null)
+                .releaseDate(fields.contains(MovieField.RELEASE_DATE) ? movie.releaseDate() : null)
+                .genre(fields.contains(MovieField.GENRE) ? movie.genre() : null)
+                .genres(fields.contains(MovieField.GENRES) ? movie.genres() : null)
+                .rating(fields.contains(MovieField.RATING) ? movie.rating() : null)
+                .build();
     }
 
     private MovieResponse mapToMovieResponse(Movie movie) {
@@ -143,8 +489,57 @@ public class MovieService {
                 .title(movie.getTitle())
                 .description(movie.getDescription())
                 .releaseDate(movie.getReleaseDate())
-                .genre(movie.getGenre())
+                .genre(movie.getPrimaryGenre())
+                .genres(movie.getGenreNames())
                 .rating(movie.getRating())
                 .build();
     }
+
+    // Flushes so a duplicate natural key fails here, where it can be reported, rather than at commit
+    private Movie saveUnique(Movie movie) {
+        try {
+            return movieRepository.saveAndFlush(movie);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().contains("natural_key_hash")) {
+                throw new MovieAlreadyExistsException("Movie already exists: '" + movie.getTitle()
+                        + "' released " + movie.getReleaseDate());
+            }
+            throw ex;
+        }
+    }
+
+    // Empty when the filter names a genre no movie has, so nothing can match
+    private Optional<MovieFilter> toMovieFilter(BulkMovieFilter filter) {
+        boolean hasIds = filter.ids() != null && !filter.ids().isEmpty();
+        if (!hasIds && filter.genre() == null && filter.fromYear() == null && filter.toYear() == null) {
+            throw new InvalidBulkOperationException("A bulk operation needs ids, a genre or a year range");
+        }
+        if (filter.fromYear() != null && filter.toYear() != null && filter.fromYear() > filter.toYear()) {
+            throw new InvalidBulkOperationException("fromYear must not be after toYear");
+        }
+        Short genreId = null;
+        if (filter.genre() != null) {
+            Optional<Short> id = genreDictionary.idOf(filter.genre());
+            if (id.isEmpty()) {
+                return Optional.empty();
+            }
+            genreId = id.get();
+        }
+        return Optional.of(new MovieFilter(
+                hasIds ? filter.ids() : null,
+                genreId,
+                filter.fromYear() != null ? LocalDate.of(filter.fromYear(), 1, 1) : null,
+                filter.toYear() != null ? LocalDate.of(filter.toYear(), 12, 31) : null));
+    }
+
+    private List<String> genreNames(MovieRequest movieRequest) {
+        List<String> names = new ArrayList<>();
+        names.add(movieRequest.genre());
+        if (movieRequest.genres() != null) {
+            names.addAll(movieRequest.genres());
+        }
+        return names;
+    }
 }
@@ -0,0 +1,333 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.VoteProperties;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.repository.MovieVotesRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accepts audience votes at premiere-night rates by counting them in memory and writing the totals to
+ * PostgreSQL in periodic batched upserts.
+ * <p>
+ * Each movie's votes go into a pair of {@link LongAdder}s, so concurrent voters on the same title update separate
+ * cells instead of contending on one. A flush drains the adders into a batch with its own id, which is recorded in
+ * the transaction that applies it: a batch whose commit failed, or was not acknowledged, is retried as is and can
+ * never be counted twice. The last batch is flushed on shutdown.
+ * <p>
+ * A vote is acknowledged before it is durable: if the process crashes, the votes accepted since the last flush,
+ * at most one flush interval's worth, are lost. This is deliberate; making each vote durable before answering
+ * would put a disk or database write back on every vote. Lower {@code showscape.votes.flush-interval} to shrink
+ * the window.
+ * <p>
+ * Vote totals are readable immediately: each movie being voted on keeps its flushed totals next to its adders, and
+ * a read adds the two together. A flush refreshes those totals with other instances' flushes and drops the tallies
+ * of movies that got no votes since the previous flush, so memory only holds the movies currently being voted on
+ * and reads of any other movie go to the database.
+ */
+@Slf4j
+@Service
+public class MovieVoteService {
+
+    private static final String CLAIM_FLUSH_SQL =
+            "INSERT INTO vote_flushes (flush_id, flushed_at) VALUES (?, now()) ON CONFLICT (flush_id) DO NOTHING";
+
+    // Skips movies deleted since their votes were counted, rather than failing the batch or re-creating their totals
+    private static final String UPSERT_VOTES_SQL = """
+            INSERT INTO movie_votes (movie_id, vote_count, score_sum)
+            SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM movies WHERE id = ?)
+            ON CONFLICT (movie_id) DO UPDATE
+                SET vote_count = movie_votes.vote_count + EXCLUDED.vote_count,
+                    score_sum = movie_votes.score_sum + EXCLUDED.score_sum""";
+
+    private static final String SELECT_TOTALS_SQL =
+            "SELECT movie_id, vote_count, score_sum FROM movie_votes WHERE movie_id = ANY (?)";
+
+    private final MovieRepository movieRepository;
+    private final MovieVotesRepository movieVotesRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoteProperties properties;
+    private final ConcurrentMap<Long, Tally> tallies = new ConcurrentHashMap<>();
+
+    // Drained but not yet confirmed; only touched while holding this service's monitor
+    private VoteBatch unconfirmedBatch;
+    // Dropped by the last drain and drained once more by the next; only touched while holding this service's monitor
+    private Map<Long, Tally> retiredTallies = new HashMap<>();
+
+    public MovieVoteService(MovieRepository movieRepository, MovieVotesRepository movieVotesRepository,
+                            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            VoteProperties properties, MeterRegistry meterRegistry) {
+        this.movieRepository = movieRepository;
+        this.movieVotesRepository = movieVotesRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        Gauge.builder("showscape.votes.pending", tallies,
+                        t -> t.values().stream().mapToLong(tally -> tally.votes.sum()).sum())
+                .description("Votes counted in memory and not yet drained into a flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a vote.
+     *
+     * @param movieId the ID of the movie voted for
+     * @param score   the score, from 1 to 10
+     * @return the movie's vote totals including this vote
+     * @throws MovieNotFoundException if the movie is not found
+     */
+    public VoteSummary vote(long movieId, int score) {
+        Tally tally = tally(movieId);
+        tally.scoreSum.add(score);
+        tally.votes.increment();
+        return tally.summary(movieId);
+    }
+
+    /**
+     * Returns a movie's vote totals, including votes not yet flushed.
+     *
+     * @param movieId the ID of the movie
+     * @return the vote totals
+     * @throws MovieNotFoundException if the movie is not found
+     */
+    public VoteSummary getVotes(long movieId) {
+        Tally tally = tallies.get(movieId);
+        return tally != null ? tally.summary(movieId) : summary(movieId, loadTotals(movieId));
+    }
+
+    /**
+     * Returns the vote totals of several movies, reading the flushed totals of those not yet in memory with one
+     * query. Unlike {@link #getVotes(long)}, does not check that the movies exist.
+     *
+     * @param movieIds the IDs of the movies
+     * @return the vote totals by movie ID, with an entry for every ID
+     */
+    public Map<Long, VoteSummary> getVotes(Collection<Long> movieIds) {
+        Map<Long, VoteSummary> summaries = new HashMap<>();
+        List<Long> unloaded = new ArrayList<>();
+        for (Long movieId : movieIds) {
+            Tally tally = tallies.get(movieId);
+            if (tally != null) {
+                summaries.put(movieId, tally.summary(movieId));
+            } else {
+                unloaded.add(movieId);
+            }
+        }
+        if (!unloaded.isEmpty()) {
+            // Not cached as tallies: the movies may since have been deleted, and only votes need a tally
+            movieVotesRepository.findAllById(unloaded).forEach(votes -> summaries.put(votes.getMovieId(),
+                    summary(votes.getMovieId(), new Totals(votes.getVoteCount(), votes.getScoreSum()))));
+            unloaded.forEach(movieId -> summaries.computeIfAbsent(movieId, id -> summary(id, Totals.NONE)));
+        }
+        return summaries;
+    }
+
+    /**
+     * Deletes a deleted movie's vote totals in the caller's transaction, and forgets its in-memory votes once that
+     * transaction commits.
+     *
+     * @param movieId the ID of the deleted movie
+     */
+    public void movieDeleted(long movieId) {
+        movieVotesRepository.deleteByMovieId(movieId);
+        forgetAfterCommit(List.of(movieId));
+    }
+
+    /**
+     * Forgets the in-memory votes of movies deleted in bulk, whose vote totals the bulk delete already removed,
+     * once the caller's transaction commits.
+     *
+     * @param movieIds the IDs of the deleted movies
+     */
+    public void moviesDeleted(Collection<Long> movieIds) {
+        forgetAfterCommit(movieIds);
+    }
+
+    /**
+     * Writes the votes counted since the last flush, retrying a previously failed batch first.
+     */
+    @Scheduled(fixedDelayString = "${showscape.votes.flush-interval:1s}")
+    public synchronized void flush() {
+        if (unconfirmedBatch != null && !write(unconfirmedBatch)) {
+            return;
+        }
+        unconfirmedBatch = drain();
+        if (unconfirmedBatch != null && write(unconfirmedBatch)) {
+            unconfirmedBatch = null;
+        }
+    }
+
+    @PreDestroy
+    synchronized void flushOnShutdown() {
+        flush();
+        if (unconfirmedBatch != null) {
+            log.error("Could not flush votes for {} movies before shutdown; they are lost",
+                    unconfirmedBatch.deltas().size());
+        }
+    }
+
+    // A rolled-back delete must keep the movie's votes
+    private void forgetAfterCommit(Collection<Long> movieIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(movieIds);
+                }
+            });
+        } else {
+            forget(movieIds);
+        }
+    }
+
+    // Also drops them from a batch awaiting retry, which would otherwise re-create their vote totals
+    private synchronized void forget(Collection<Long> movieIds) {
+        movieIds.forEach(tallies::remove);
+        retiredTallies.keySet().removeAll(movieIds);
+        if (unconfirmedBatch != null) {
+            unconfirmedBatch.deltas().keySet().removeAll(movieIds);
+            if (unconfirmedBatch.deltas().isEmpty()) {
+                unconfirmedBatch = null;
+            }
+        }
+    }
+
+    private Tally tally(long movieId) {
+        Tally tally = tallies.get(movieId);
+        return tally != null ? tally : tallies.computeIfAbsent(movieId, this::loadTally);
+    }
+
+    private Tally loadTally(Long movieId) {
+        return new Tally(loadTotals(movieId));
+    }
+
+    private Totals loadTotals(long movieId) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new MovieNotFoundException(movieId);
+        }
+        return movieVotesRepository.findById(movieId)
+                .map(votes -> new Totals(votes.getVoteCount(), votes.getScoreSum()))
+                .orElse(Totals.NONE);
+    }
+
+    private VoteBatch drain() {
+        Map<Long, Totals> deltas = new HashMap<>();
+        // A voter that looked one of these up just before it was dropped may still have counted its vote there
+        retiredTallies.forEach((movieId, tally) -> drainInto(deltas, movieId, tally));
+        Map<Long, Tally> idle = new HashMap<>();
+        tallies.forEach((movieId, tally) -> {
+            if (!drainInto(deltas, movieId, tally) && tallies.remove(movieId, tally)) {
+                idle.put(movieId, tally);
+            }
+        });
+        retiredTallies = idle;
+        return deltas.isEmpty() ? null : new VoteBatch(UUID.randomUUID(), deltas);
+    }
+
+    private static boolean drainInto(Map<Long, Totals> deltas, long movieId, Tally tally) {
+        // A voter adds its score before its vote, so every drained vote's score is drained with it
+        long votes = tally.votes.sumThenReset();
+        if (votes == 0) {
+            return false;
+        }
+        Totals delta = new Totals(votes, tally.scoreSum.sumThenReset());
+        tally.settled = tally.settled.plus(delta);
+        deltas.merge(movieId, delta, Totals::plus);
+        return true;
+    }
+
+    private boolean write(VoteBatch batch) {
+        Map<Long, Totals> flushed;
+        try {
+            flushed = transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(CLAIM_FLUSH_SQL, batch.flushId()) > 0) {
+                    List<Object[]> rows = new ArrayList<>(batch.deltas().size());
+                    batch.deltas().forEach((movieId, delta) ->
+                            rows.add(new Object[]{movieId, delta.votes(), delta.scoreSum(), movieId}));
+                    for (int from = 0; from < rows.size(); from += properties.batchSize()) {
+                        jdbcTemplate.batchUpdate(UPSERT_VOTES_SQL,
+                                rows.subList(from, Math.min(rows.size(), from + properties.batchSize())));
+                    }
+                    jdbcTemplate.update("DELETE FROM vote_flushes WHERE flushed_at < ?",
+                            Timestamp.from(Instant.now().minus(properties.flushLogRetention())));
+                }
+                // Re-read the totals, which include other instances' flushes
+                Map<Long, Totals> totals = new HashMap<>();
+                RowCallbackHandler collectTotals = rs -> totals.put(rs.getLong("movie_id"),
+                        new Totals(rs.getLong("vote_count"), rs.getLong("score_sum")));
+                jdbcTemplate.query(SELECT_TOTALS_SQL, collectTotals, (Object) batch.deltas().keySet().toArray(Long[]::new));
+                return totals;
+            });
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Flushing votes for {} movies failed; retrying on the next flush", batch.deltas().size(), ex);
+            return false;
+        }
+        if (flushed != null) {
+            flushed.forEach((movieId, totals) -> {
+                Tally tally = tallies.get(movieId);
+                if (tally != null) {
+                    tally.settled = totals;
+                }
+            });
+        }
+        return true;
+    }
+
+    private static VoteSummary summary(long movieId, Totals totals) {
+        Double averageScore = totals.votes() == 0 ? null : (double) totals.scoreSum() / totals.votes();
+        return new VoteSummary(movieId, totals.votes(), averageScore);
+    }
+
+    private record Totals(long votes, long scoreSum) {
+
+        static final Totals NONE = new Totals(0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(votes + other.votes, scoreSum + other.scoreSum);
+        }
+    }
+
+    private record VoteBatch(UUID flushId, Map<Long, Totals> deltas) {}
+
+    private static final class Tally {
+
+        private final LongAdder votes = new LongAdder();
+        private final LongAdder scoreSum = new LongAdder();
+        // Flushed totals plus drained deltas; written only by the flushing thread
+        private volatile Totals settled;
+
+        Tally(Totals settled) {
+            this.settled = settled;
+        }
+
+        VoteSummary summary(long movieId) {
+            return MovieVoteService.summary(movieId, settled.plus(new Totals(votes.sum(), scoreSum.sum())));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.ReadCoalescingProperties;
+import com.showscape.movieservice.config.ReadYourWritesContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into a single execution ("single-flight").
+ * <p>
+ * The first caller for a key runs the loader; callers that arrive while it is in flight wait for and share its
+ * result instead of issuing the same query. Waiting is bounded: a caller that times out runs the loader itself.
+ * Waiters never cancel the shared future, so a caller giving up cannot fail the others, and the entry is removed
+ * as soon as the leader finishes so later calls always see fresh data.
+ * <p>
+ * Callers pinned to the primary by {@link ReadYourWritesContext} always run their own read: a read already in
+ * flight may have started on a replica, or before the caller's write committed. Without replica routing nothing
+ * is pinned, so every committed write also starts a new generation: calls only join reads of their own generation,
+ * and a read that starts after a write never shares the result of one that started before it.
+ * <p>
+ * Each call is counted in {@code showscape.reads} tagged with the operation and whether it was
+ * {@code executed}, {@code coalesced} or {@code timed_out}.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitNanos;
+
+    public RequestCoalescer(MeterRegistry meterRegistry, ReadCoalescingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitNanos = properties.maxWait().toNanos();
+    }
+
+    /**
+     * Runs {@code loader}, or waits for an identical call that is already running.
+     *
+     * @param operation the name of the read, used as the metric tag
+     * @param argument  the read's argument; together with the operation it identifies identical calls
+     * @param loader    the read itself
+     * @return the loader's result, possibly produced by another caller
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object argument, Supplier<T> loader) {
+        if (ReadYourWritesContext.isPinnedToPrimary()) {
+            count(operation, "executed");
+            return loader.get();
+        }
+        Key key = new Key(operation, argument, writeGeneration.get());
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            count(operation, "executed");
+            try {
+                T result = loader.get();
+                leader.complete(result);
+                return result;
+            } catch (RuntimeException | Error ex) {
+                leader.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, leader);
+            }
+        }
+
+        try {
+            T result = (T) existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            count(operation, "coalesced");
+            return result;
+        } catch (TimeoutException ex) {
+            count(operation, "timed_out");
+            return loader.get();
+        } catch (ExecutionException ex) {
+            count(operation, "coalesced");
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight " + operation, ex);
+        }
+    }
+
+    /**
+     * Starts a new generation once the surrounding transaction commits, or immediately outside a transaction, so
+     * later calls stop joining reads that may predate the write.
+     */
+    public void writeCommitted() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeGeneration.incrementAndGet();
+                }
+            });
+        } else {
+            writeGeneration.incrementAndGet();
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("showscape.reads", "operation", operation, "outcome", outcome).increment();
+    }
+
+    private record Key(String operation, Object argument, long writeGeneration) {}
+}
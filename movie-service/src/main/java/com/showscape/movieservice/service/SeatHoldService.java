@@ -0,0 +1,429 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.SeatHoldProperties;
+import com.showscape.movieservice.dto.SeatHoldResponse;
+import com.showscape.movieservice.dto.SeatMapResponse;
+import com.showscape.movieservice.dto.ShowtimeRequest;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.entity.SeatHold;
+import com.showscape.movieservice.entity.Showtime;
+import com.showscape.movieservice.exception.InvalidSeatSelectionException;
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.exception.SeatHoldNotFoundException;
+import com.showscape.movieservice.exception.SeatUnavailableException;
+import com.showscape.movieservice.exception.ShowtimeNotFoundException;
+import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.repository.SeatHoldRepository;
+import com.showscape.movieservice.repository.ShowtimeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Manages showtimes and the holding, confirming and releasing of their seats.
+ * <p>
+ * Each showtime's held and sold seats live in an in-memory {@link SeatMap}, so concurrent buyers compete with
+ * compare-and-set on its bitset rather than on database rows, and two holds can never share a seat. Holds expire
+ * after {@code showscape.seat-holds.ttl} and are written to {@code seat_holds} in the background, from where they
+ * are restored after a restart. Confirmation is transactional: it locks the showtime row, checks the seats are
+ * still unsold and marks them sold in its bitset.
+ * <p>
+ * Seat maps are per instance. With several instances, route each showtime's requests to one of them; the
+ * confirmation check still prevents a double sale if they are not.
+ */
+@Slf4j
+@Service
+public class SeatHoldService {
+
+    private static final String INSERT_HOLD_SQL = """
+            INSERT INTO seat_holds (id, showtime_id, seats, expires_at) VALUES (?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING""";
+
+    private static final String DELETE_MOVIE_SHOWTIMES_SQL = """
+            WITH deleted AS (DELETE FROM showtimes WHERE movie_id = ? RETURNING id)
+            DELETE FROM seat_holds WHERE showtime_id IN (SELECT id FROM deleted)""";
+
+    private final ShowtimeRepository showtimeRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final MovieRepository movieRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatHoldProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Long, ShowtimeSeats> seatMaps = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Hold> holds = new ConcurrentHashMap<>();
+    // Holds started and ended since the last flush, in order
+    private final Queue<HoldChange> unpersistedChanges = new ConcurrentLinkedQueue<>();
+    // Drained changes whose write failed; only touched while holding this service's monitor
+    private List<HoldChange> unconfirmedChanges = List.of();
+
+    public SeatHoldService(ShowtimeRepository showtimeRepository, SeatHoldRepository seatHoldRepository,
+                           MovieRepository movieRepository, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate, SeatHoldProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.showtimeRepository = showtimeRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.movieRepository = movieRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("showscape.seat-holds.active", Tags.empty(), holds);
+    }
+
+    /**
+     * Schedules a showtime with every seat free.
+     *
+     * @param request the showtime details
+     * @return the created showtime
+     * @throws MovieNotFoundException if the movie is not found
+     */
+    @Transactional
+    public ShowtimeResponse createShowtime(ShowtimeRequest request) {
+        if (!movieRepository.existsById(request.movieId())) {
+            throw new MovieNotFoundException(request.movieId());
+        }
+        int capacity = request.seatRows() * request.seatsPerRow();
+        Showtime showtime = showtimeRepository.save(Showtime.builder()
+                .movieId(request.movieId())
+                .startsAt(request.startsAt())
+                .auditorium(request.auditorium())
+                .seatRows(request.seatRows())
+                .seatsPerRow(request.seatsPerRow())
+                .soldSeats(new long[SeatMap.wordCount(capacity)])
+                .build());
+        return toResponse(showtime, capacity);
+    }
+
+    /**
+     * @throws ShowtimeNotFoundException if the showtime is not found
+     */
+    public ShowtimeResponse getShowtime(Long showtimeId) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ShowtimeNotFoundException("Showtime not found with id: " + showtimeId));
+        return toResponse(showtime, seatMap(showtimeId).availableSeats());
+    }
+
+    public List<ShowtimeResponse> getShowtimesForMovie(Long movieId) {
+        return toResponses(showtimeRepository.findByMovieIdOrderByStartsAt(movieId));
+    }
+
+    /**
+     * Returns the showtimes of several movies with one query, plus at most one more for the persisted holds of
+     * showtimes whose seat maps are not loaded yet.
+     *
+     * @param movieIds the IDs of the movies
+     * @return each movie's showtimes in start order, keyed by movie ID; movies without showtimes are absent
+     */
+    public Map<Long, List<ShowtimeResponse>> getShowtimesForMovies(Collection<Long> movieIds) {
+        if (movieIds.isEmpty()) {
+            return Map.of();
+        }
+        return toResponses(showtimeRepository.findByMovieIdInOrderByStartsAt(movieIds)).stream()
+                .collect(Collectors.groupingBy(ShowtimeResponse::movieId));
+    }
+
+    /**
+     * @throws ShowtimeNotFoundException if the showtime is not found
+     */
+    public SeatMapResponse getSeatMap(Long showtimeId) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ShowtimeNotFoundException("Showtime not found with id: " + showtimeId));
+        return new SeatMapResponse(showtimeId, showtime.getSeatRows(), showtime.getSeatsPerRow(),
+                seatMap(showtimeId).takenSeats());
+    }
+
+    /**
+     * Holds seats for {@code showscape.seat-holds.ttl}, if every one of them is free.
+     *
+     * @param showtimeId the ID of the showtime
+     * @param seats      the seat numbers
+     * @return the hold, to be confirmed or released
+     * @throws ShowtimeNotFoundException      if the showtime is not found
+     * @throws InvalidSeatSelectionException  if a seat does not exist or too many are requested
+     * @throws SeatUnavailableException       if any seat is already held or sold
+     */
+    public SeatHoldResponse holdSeats(Long showtimeId, List<Integer> seats) {
+        int[] seatNumbers = seats.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        if (seatNumbers.length > properties.maxSeatsPerHold()) {
+            throw new InvalidSeatSelectionException(
+                    "At most " + properties.maxSeatsPerHold() + " seats can be held at once");
+        }
+        SeatMap seatMap = seatMap(showtimeId);
+        for (int seat : seatNumbers) {
+            if (seat < 0 || seat >= seatMap.capacity()) {
+                throw new InvalidSeatSelectionException("Seat " + seat + " does not exist");
+            }
+        }
+        if (!seatMap.tryTake(seatNumbers)) {
+            meterRegistry.counter("showscape.seat-holds", "outcome", "unavailable").increment();
+            throw new SeatUnavailableException("Some of the seats are no longer available");
+        }
+        Hold hold = new Hold(UUID.randomUUID(), showtimeId, seatNumbers, Instant.now().plus(properties.ttl()));
+        holds.put(hold.id(), hold);
+        unpersistedChanges.add(new HoldChange(hold, true));
+        meterRegistry.counter("showscape.seat-holds", "outcome", "held").increment();
+        return toResponse(hold, false);
+    }
+
+    /**
+     * Sells the held seats.
+     *
+     * @param showtimeId the ID of the showtime
+     * @param holdId     the ID of the hold
+     * @return the confirmed hold
+     * @throws SeatHoldNotFoundException if the hold is unknown, expired or already ended
+     * @throws SeatUnavailableException  if another instance sold any of the seats
+     */
+    public SeatHoldResponse confirm(Long showtimeId, UUID holdId) {
+        Hold hold = takeHold(showtimeId, holdId);
+        if (hold.expiresAt().isBefore(Instant.now())) {
+            endHold(hold);
+            throw new SeatHoldNotFoundException("Seat hold has expired: " + holdId);
+        }
+        long[] soldBefore;
+        try {
+            soldBefore = transactionTemplate.execute(status -> sell(hold));
+        } catch (DataAccessException | TransactionException ex) {
+            // Still held by this buyer, who may retry until the hold expires
+            holds.put(hold.id(), hold);
+            throw ex;
+        }
+        unpersistedChanges.add(new HoldChange(hold, false));
+        if (Arrays.stream(hold.seats()).anyMatch(seat -> SeatMap.contains(soldBefore, seat))) {
+            // Another instance sold some of the seats: mark those sold here as well and free the rest
+            SeatMap seatMap = seatMap(hold.showtimeId());
+            seatMap.markTaken(soldBefore);
+            seatMap.release(Arrays.stream(hold.seats()).filter(seat -> !SeatMap.contains(soldBefore, seat)).toArray());
+            throw new SeatUnavailableException("Some of the seats are no longer available");
+        }
+        meterRegistry.counter("showscape.seat-holds", "outcome", "confirmed").increment();
+        return toResponse(hold, true);
+    }
+
+    /**
+     * Gives up held seats.
+     *
+     * @throws SeatHoldNotFoundException if the hold is unknown, expired or already ended
+     */
+    public void release(Long showtimeId, UUID holdId) {
+        endHold(takeHold(showtimeId, holdId));
+        meterRegistry.counter("showscape.seat-holds", "outcome", "released").increment();
+    }
+
+    @Scheduled(fixedDelayString = "${showscape.seat-holds.sweep-interval:5s}")
+    public void releaseExpiredHolds() {
+        Instant now = Instant.now();
+        holds.values().forEach(hold -> {
+            if (hold.expiresAt().isBefore(now) && holds.remove(hold.id(), hold)) {
+                endHold(hold);
+                meterRegistry.counter("showscape.seat-holds", "outcome", "expired").increment();
+            }
+        });
+    }
+
+    /**
+     * Deletes a deleted movie's showtimes and their persisted holds in the caller's transaction, and drops their
+     * seat maps and holds from memory once that transaction commits.
+     *
+     * @param movieId the ID of the deleted movie
+     */
+    public void movieDeleted(long movieId) {
+        jdbcTemplate.update(DELETE_MOVIE_SHOWTIMES_SQL, movieId);
+        forgetAfterCommit(List.of(movieId));
+    }
+
+    /**
+     * Drops the seat maps and holds of movies deleted in bulk, whose showtimes and persisted holds the bulk delete
+     * already removed, once the caller's transaction commits.
+     *
+     * @param movieIds the IDs of the deleted movies
+     */
+    public void moviesDeleted(Collection<Long> movieIds) {
+        forgetAfterCommit(movieIds);
+    }
+
+    /**
+     * Writes holds started or ended since the last flush to {@code seat_holds}.
+     */
+    @Scheduled(fixedDelayString = "${showscape.seat-holds.flush-interval:1s}")
+    public synchronized void flushHolds() {
+        List<HoldChange> changes = new ArrayList<>(unconfirmedChanges);
+        for (HoldChange change; (change = unpersistedChanges.poll()) != null; ) {
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        // A hold always ends after it starts, so writing every start before every end keeps the order
+        List<Object[]> started = new ArrayList<>();
+        List<Object[]> ended = new ArrayList<>();
+        for (HoldChange change : changes) {
+            Hold hold = change.hold();
+            if (change.started()) {
+                started.add(new Object[]{hold.id(), hold.showtimeId(), hold.seats(), Timestamp.from(hold.expiresAt())});
+            } else {
+                ended.add(new Object[]{hold.id()});
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, started);
+                jdbcTemplate.batchUpdate("DELETE FROM seat_holds WHERE id = ?", ended);
+                // Holds that expired while the service was down
+                jdbcTemplate.update("DELETE FROM seat_holds WHERE expires_at < ?", Timestamp.from(Instant.now()));
+            });
+            unconfirmedChanges = List.of();
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Persisting {} seat hold changes failed; retrying on the next flush", changes.size(), ex);
+            unconfirmedChanges = changes;
+        }
+    }
+
+    // Returns the locked row's sold seats as they were before; the hold was only sold if none of its seats are in them
+    private long[] sell(Hold hold) {
+        Showtime showtime = showtimeRepository.findByIdForUpdate(hold.showtimeId())
+                .orElseThrow(() -> new ShowtimeNotFoundException("Showtime not found with id: " + hold.showtimeId()));
+        long[] soldBefore = Arrays.copyOf(showtime.getSoldSeats(), SeatMap.wordCount(showtime.getCapacity()));
+        long[] heldSeats = SeatMap.toWords(showtime.getCapacity(), hold.seats());
+        long[] soldSeats = new long[soldBefore.length];
+        for (int word = 0; word < soldSeats.length; word++) {
+            if ((soldBefore[word] & heldSeats[word]) != 0) {
+                return soldBefore;
+            }
+            soldSeats[word] = soldBefore[word] | heldSeats[word];
+        }
+        showtime.setSoldSeats(soldSeats);
+        return soldBefore;
+    }
+
+    private void forgetAfterCommit(Collection<Long> movieIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(movieIds);
+                }
+            });
+        } else {
+            forget(movieIds);
+        }
+    }
+
+    private void forget(Collection<Long> movieIds) {
+        Set<Long> deletedMovieIds = Set.copyOf(movieIds);
+        Set<Long> showtimeIds = new HashSet<>();
+        seatMaps.forEach((showtimeId, seats) -> {
+            if (deletedMovieIds.contains(seats.movieId()) && seatMaps.remove(showtimeId, seats)) {
+                showtimeIds.add(showtimeId);
+            }
+        });
+        holds.values().removeIf(hold -> showtimeIds.contains(hold.showtimeId()));
+    }
+
+    private Hold takeHold(Long showtimeId, UUID holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new SeatHoldNotFoundException("Seat hold not found with id: " + holdId);
+        }
+        if (!hold.showtimeId().equals(showtimeId)) {
+            holds.put(holdId, hold);
+            throw new SeatHoldNotFoundException("Seat hold not found with id: " + holdId);
+        }
+        return hold;
+    }
+
+    private void endHold(Hold hold) {
+        seatMap(hold.showtimeId()).release(hold.seats());
+        unpersistedChanges.add(new HoldChange(hold, false));
+    }
+
+    private SeatMap seatMap(Long showtimeId) {
+        ShowtimeSeats seats = seatMaps.get(showtimeId);
+        return (seats != null ? seats : seatMaps.computeIfAbsent(showtimeId, this::loadSeatMap)).seatMap();
+    }
+
+    // Loads the seat maps missing for these showtimes from the rows already fetched and one query for their holds
+    private List<ShowtimeResponse> toResponses(List<Showtime> showtimes) {
+        List<Long> unloaded = showtimes.stream()
+                .map(Showtime::getId)
+                .filter(showtimeId -> !seatMaps.containsKey(showtimeId))
+                .toList();
+        Map<Long, List<SeatHold>> persistedHolds = unloaded.isEmpty() ? Map.of()
+                : seatHoldRepository.findByShowtimeIdInAndExpiresAtAfter(unloaded, Instant.now()).stream()
+                        .collect(Collectors.groupingBy(SeatHold::getShowtimeId));
+        return showtimes.stream()
+                .map(showtime -> toResponse(showtime, seatMaps.computeIfAbsent(showtime.getId(), showtimeId ->
+                                newSeatMap(showtime, persistedHolds.getOrDefault(showtimeId, List.of())))
+                        .seatMap().availableSeats()))
+                .toList();
+    }
+
+    private ShowtimeSeats loadSeatMap(Long showtimeId) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ShowtimeNotFoundException("Showtime not found with id: " + showtimeId));
+        return newSeatMap(showtime, seatHoldRepository.findByShowtimeIdAndExpiresAtAfter(showtimeId, Instant.now()));
+    }
+
+    // Sold seats come from the showtime, held ones from holds persisted before a restart
+    private ShowtimeSeats newSeatMap(Showtime showtime, List<SeatHold> persistedHolds) {
+        SeatMap seatMap = new SeatMap(showtime.getCapacity(), showtime.getSoldSeats());
+        for (SeatHold persisted : persistedHolds) {
+            if (seatMap.tryTake(persisted.getSeats())) {
+                holds.putIfAbsent(persisted.getId(),
+                        new Hold(persisted.getId(), showtime.getId(), persisted.getSeats(), persisted.getExpiresAt()));
+            }
+        }
+        return new ShowtimeSeats(showtime.getMovieId(), seatMap);
+    }
+
+    private ShowtimeResponse toResponse(Showtime showtime, int availableSeats) {
+        return ShowtimeResponse.builder()
+                .id(showtime.getId())
+                .movieId(showtime.getMovieId())
+                .startsAt(showtime.getStartsAt())
+                .auditorium(showtime.getAuditorium())
+                .seatRows(showtime.getSeatRows())
+                .seatsPerRow(showtime.getSeatsPerRow())
+                .availableSeats(availableSeats)
+                .build();
+    }
+
+    private SeatHoldResponse toResponse(Hold hold, boolean confirmed) {
+        return new SeatHoldResponse(hold.id(), hold.showtimeId(), Arrays.stream(hold.seats()).boxed().toList(),
+                confirmed ? null : hold.expiresAt(), confirmed);
+    }
+
+    private record Hold(UUID id, Long showtimeId, int[] seats, Instant expiresAt) {}
+
+    private record HoldChange(Hold hold, boolean started) {}
+
+    // The movie is kept so a deleted movie's seat maps can be found
+    private record ShowtimeSeats(Long movieId, SeatMap seatMap) {}
+}
@@ -0,0 +1,142 @@
+package com.showscape.movieservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The seats of one showtime as a lock-free bitset, one bit per seat, set while the seat is held or sold.
+ * <p>
+ * Taking seats is all-or-nothing: each affected 64-seat word is claimed with a compare-and-set, and if any seat
+ * turns out to be taken the words already claimed are released again. Buyers never block one another; a buyer
+ * that loses a race fails fast and can pick other seats.
+ */
+public final class SeatMap {
+
+    private final int capacity;
+    private final AtomicLongArray words;
+
+    /**
+     * @param capacity   the number of seats, numbered from 0
+     * @param takenWords the initially taken seats as bitset words, or an empty array for none
+     */
+    public SeatMap(int capacity, long[] takenWords) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray(wordCount(capacity));
+        for (int word = 0; word < Math.min(takenWords.length, words.length()); word++) {
+            words.set(word, takenWords[word]);
+        }
+    }
+
+    public static int wordCount(int capacity) {
+        return (capacity + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Takes every one of the seats, or none of them.
+     *
+     * @param seats seat numbers between 0 and {@link #capacity()}, exclusive
+     * @return whether the seats were all free and are now taken
+     */
+    public boolean tryTake(int[] seats) {
+        long[] masks = masks(seats);
+        for (int word = 0; word < masks.length; word++) {
+            long mask = masks[word];
+            if (mask == 0) {
+                continue;
+            }
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    clear(masks, word);
+                    return false;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+        return true;
+    }
+
+    /**
+     * Frees seats previously taken by the caller.
+     */
+    public void release(int[] seats) {
+        long[] masks = masks(seats);
+        clear(masks, masks.length);
+    }
+
+    /**
+     * Marks seats taken whether or not they are free, such as seats another instance turned out to have sold.
+     *
+     * @param takenWords the seats as bitset words
+     */
+    public void markTaken(long[] takenWords) {
+        for (int word = 0; word < Math.min(takenWords.length, words.length()); word++) {
+            long mask = takenWords[word];
+            if (mask != 0) {
+                words.getAndUpdate(word, current -> current | mask);
+            }
+        }
+    }
+
+    public boolean isTaken(int seat) {
+        return (words.get(seat / Long.SIZE) & (1L << (seat % Long.SIZE))) != 0;
+    }
+
+    public List<Integer> takenSeats() {
+        List<Integer> taken = new ArrayList<>();
+        for (int seat = 0; seat < capacity; seat++) {
+            if (isTaken(seat)) {
+                taken.add(seat);
+            }
+        }
+        return taken;
+    }
+
+    public int availableSeats() {
+        int taken = 0;
+        for (int word = 0; word < words.length(); word++) {
+            taken += Long.bitCount(words.get(word));
+        }
+        return capacity - taken;
+    }
+
+    /**
+     * Converts seat numbers to bitset words, bit {@code n % 64} of word {@code n / 64} standing for seat {@code n}.
+     */
+    public static long[] toWords(int capacity, int[] seats) {
+        long[] words = new long[wordCount(capacity)];
+        for (int seat : seats) {
+            if (seat < 0 || seat >= capacity) {
+                throw new IllegalArgumentException("Seat " + seat + " does not exist");
+            }
+            words[seat / Long.SIZE] |= 1L << (seat % Long.SIZE);
+        }
+        return words;
+    }
+
+    /**
+     * Tells whether a seat's bit is set in bitset words as produced by {@link #toWords(int, int[])}.
+     */
+    public static boolean contains(long[] words, int seat) {
+        return (words[seat / Long.SIZE] & (1L << (seat % Long.SIZE))) != 0;
+    }
+
+    private long[] masks(int[] seats) {
+        return toWords(capacity, seats);
+    }
+
+    // Clears the bits of every word before the given one; they are owned by the caller
+    private void clear(long[] masks, int toWord) {
+        for (int word = 0; word < toWord; word++) {
+            long mask = masks[word];
+            if (mask != 0) {
+                words.getAndUpdate(word, current -> current & ~mask);
+            }
+        }
+    }
+}
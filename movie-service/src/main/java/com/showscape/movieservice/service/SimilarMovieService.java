@@ -0,0 +1,202 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.config.SimilarityProperties;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Answers "similar movies" requests from a {@link SimilarityIndex} instead of comparing a movie with the whole
+ * catalog on each request.
+ * <p>
+ * The index is built on first use and rebuilt from the whole catalog on a fixed schedule, on a dedicated fork-join
+ * pool. Writes made through this instance are applied to it incrementally as soon as they commit, and replayed onto
+ * a rebuilt index if they committed while it was being built. Until the first build starts, writes are not recorded:
+ * that build reads them from the database.
+ */
+@Slf4j
+@Service
+public class SimilarMovieService {
+
+    private final MovieRepository movieRepository;
+    private final SimilarityProperties properties;
+    private final ForkJoinPool pool;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile SimilarityIndex index;
+    // Whether an index exists or is being built, so writes must be recorded; guarded by this service's monitor
+    private boolean tracking;
+    private long changeSequence;
+    private final Deque<Change> recentChanges = new ArrayDeque<>();
+
+    public SimilarMovieService(MovieRepository movieRepository, SimilarityProperties properties) {
+        this.movieRepository = movieRepository;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.parallelism() != null
+                ? properties.parallelism() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the movies most similar to the given one, most similar first.
+     *
+     * @param id    the ID of the movie
+     * @param limit the most movies to return; capped at {@code showscape.similarity.neighbors}
+     * @return the similar movies
+     * @throws MovieNotFoundException if the movie is not found
+     */
+    public List<MovieResponse> getSimilarMovies(Long id, int limit) {
+        int cappedLimit = Math.max(0, Math.min(limit, properties.neighbors()));
+        SimilarityIndex current = index();
+        if (!current.contains(id)) {
+            // Created through another instance since the last rebuild
+            Movie movie = movieRepository.findById(id)
+                    .orElseThrow(() -> new MovieNotFoundException(id));
+            apply(similarityIndex -> similarityIndex.upsert(movie));
+        }
+        return index.similarTo(id, cappedLimit)
+                .orElseThrow(() -> new MovieNotFoundException(id));
+    }
+
+    /**
+     * Rebuilds the index from the whole catalog and replays any local writes that committed during the build.
+     * Does nothing until the index has first been used.
+     */
+    @Scheduled(initialDelayString = "${showscape.similarity.rebuild-interval:10m}",
+            fixedDelayString = "${showscape.similarity.rebuild-interval:10m}")
+    public void rebuild() {
+        if (index == null) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a created or updated movie to the index once the surrounding transaction commits.
+     */
+    public void movieSaved(Movie movie) {
+        afterCommit(current -> current.upsert(movie));
+    }
+
+    /**
+     * Removes a deleted movie from the index once the surrounding transaction commits.
+     */
+    public void movieDeleted(long id) {
+        afterCommit(current -> current.delete(id));
+    }
+
+    /**
+     * Applies movies changed by a bulk update to the index once the surrounding transaction commits.
+     */
+    public void moviesUpdated(Collection<Movie> movies) {
+        afterCommit(current -> movies.forEach(current::upsert));
+    }
+
+    /**
+     * Removes movies deleted in bulk from the index once the surrounding transaction commits.
+     */
+    public void moviesDeleted(Collection<Long> ids) {
+        afterCommit(current -> ids.forEach(current::delete));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Builds the index on first use; concurrent first requests wait for the same build
+    private SimilarityIndex index() {
+        SimilarityIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            if (index == null) {
+                build();
+            }
+            return index;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void build() {
+        long startSequence;
+        synchronized (this) {
+            tracking = true;
+            startSequence = changeSequence;
+        }
+        long startedAt = System.nanoTime();
+        SimilarityIndex built;
+        try {
+            built = SimilarityIndex.build(movieRepository.findAll(), properties.neighbors(), pool);
+        } catch (RuntimeException | Error ex) {
+            synchronized (this) {
+                // A failed first build leaves no index to keep up to date; the next request builds from scratch
+                if (index == null) {
+                    tracking = false;
+                    recentChanges.clear();
+                }
+            }
+            throw ex;
+        }
+
+        synchronized (this) {
+            recentChanges.removeIf(change -> change.sequence() <= startSequence);
+            for (Change change : recentChanges) {
+                change.operation().accept(built);
+            }
+            index = built;
+        }
+        log.debug("Similarity index rebuilt with {} movies in {} ms", built.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void afterCommit(Consumer<SimilarityIndex> operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private synchronized void apply(Consumer<SimilarityIndex> operation) {
+        if (!tracking) {
+            return;
+        }
+        recentChanges.addLast(new Change(++changeSequence, operation));
+        SimilarityIndex current = index;
+        if (current != null) {
+            operation.accept(current);
+        }
+    }
+
+    private record Change(long sequence, Consumer<SimilarityIndex> operation) {}
+}
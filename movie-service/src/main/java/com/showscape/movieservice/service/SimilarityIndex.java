@@ -0,0 +1,398 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed "similar movies" lists, scored on content alone.
+ * <p>
+ * Two movies are similar to the extent that their titles and descriptions share distinctive words (cosine of
+ * their TF-IDF vectors), they share genres, and their release dates and ratings are close. Only movies sharing at
+ * least one term or genre are scored against each other, found through inverted indexes, so the cost of a full
+ * build grows with the overlap between movies rather than with the square of the catalog.
+ * <p>
+ * Each movie keeps its top {@code neighborCount} neighbors, computed for the whole catalog in parallel on a
+ * fork-join pool when the index is built. Reads are lock-free. {@link #upsert} and {@link #delete} update the
+ * index in place and rescore only the movies sharing a term or genre with the changed one; a list that loses a
+ * neighbor is left one entry short until the next build. Document frequencies are frozen at build time.
+ */
+public final class SimilarityIndex {
+
+    static final double TEXT_WEIGHT = 0.5;
+    static final double GENRE_WEIGHT = 0.3;
+    static final double RELEASE_WEIGHT = 0.1;
+    static final double RATING_WEIGHT = 0.1;
+
+    // Title words say more about a movie than the same words in its description
+    private static final double TITLE_BOOST = 2.0;
+    // Release dates this many days apart score 1/e of identical ones
+    private static final double RELEASE_DECAY_DAYS = 10 * 365.25;
+    private static final double MAX_RATING = 10.0;
+    // Movies scored sequentially by one fork-join task
+    private static final int BATCH_SIZE = 64;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "has", "he", "her", "his", "in", "into", "is", "it", "its", "of", "on", "or", "she", "that",
+            "the", "their", "they", "this", "to", "was", "who", "with");
+
+    private static final Comparator<Neighbor> BY_SCORE =
+            Comparator.comparingDouble(Neighbor::score).reversed().thenComparingLong(Neighbor::movieId);
+
+    private final int neighborCount;
+    private final Map<String, Double> inverseDocumentFrequencies;
+    private final double unseenTermIdf;
+    private final ConcurrentMap<Long, Item> items = new ConcurrentHashMap<>();
+    // Term weight by movie for each term, and movies for each genre; only changed under this index's monitor
+    private final Map<String, Map<Long, Double>> postingsByTerm = new HashMap<>();
+    private final Map<String, Set<Long>> moviesByGenre = new HashMap<>();
+
+    private SimilarityIndex(int neighborCount, Map<String, Double> inverseDocumentFrequencies, double unseenTermIdf) {
+        this.neighborCount = neighborCount;
+        this.inverseDocumentFrequencies = inverseDocumentFrequencies;
+        this.unseenTermIdf = unseenTermIdf;
+    }
+
+    /**
+     * Builds the index for a full load of the movies table.
+     *
+     * @param movies        every movie in the catalog
+     * @param neighborCount how many neighbors to keep per movie
+     * @param pool          the pool that scores the catalog
+     * @return the new index
+     */
+    public static SimilarityIndex build(Collection<Movie> movies, int neighborCount, ForkJoinPool pool) {
+        List<Map<String, Integer>> termCounts = new ArrayList<>(movies.size());
+        Map<String, Integer> documentFrequencies = new HashMap<>();
+        for (Movie movie : movies) {
+            Map<String, Integer> counts = termCounts(movie);
+            termCounts.add(counts);
+            counts.keySet().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+        }
+        int documents = movies.size();
+        Map<String, Double> inverseDocumentFrequencies = new HashMap<>(documentFrequencies.size() * 2);
+        documentFrequencies.forEach((term, frequency) ->
+                inverseDocumentFrequencies.put(term, inverseDocumentFrequency(documents, frequency)));
+
+        SimilarityIndex index = new SimilarityIndex(neighborCount, inverseDocumentFrequencies,
+                inverseDocumentFrequency(documents, 1));
+        int row = 0;
+        Item[] built = new Item[documents];
+        for (Movie movie : movies) {
+            Item item = index.newItem(movie, termCounts.get(row));
+            index.items.put(item.id, item);
+            index.addPostings(item);
+            built[row++] = item;
+        }
+        pool.invoke(index.new NeighborTask(built, 0, built.length));
+        return index;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean contains(long movieId) {
+        return items.containsKey(movieId);
+    }
+
+    /**
+     * Returns the movies most similar to the given one, most similar first.
+     *
+     * @param movieId the ID of the movie
+     * @param limit   the most movies to return; at most the configured neighbor count are kept
+     * @return the similar movies, or empty if the movie is not in the index
+     */
+    public Optional<List<MovieResponse>> similarTo(long movieId, int limit) {
+        Item item = items.get(movieId);
+        if (item == null) {
+            return Optional.empty();
+        }
+        List<MovieResponse> similar = new ArrayList<>(Math.min(limit, item.neighbors.length));
+        for (Neighbor neighbor : item.neighbors) {
+            if (similar.size() >= limit) {
+                break;
+            }
+            // A neighbor deleted since this list was read is skipped
+            Item other = items.get(neighbor.movieId());
+            if (other != null) {
+                similar.add(other.movie);
+            }
+        }
+        return Optional.of(similar);
+    }
+
+    /**
+     * Adds or replaces a movie and rescores the movies it is, or was, similar to.
+     */
+    public synchronized void upsert(Movie movie) {
+        Item previous = items.get(movie.getId());
+        Set<Long> previousCandidates = Set.of();
+        if (previous != null) {
+            previousCandidates = score(previous).keySet();
+            removePostings(previous);
+        }
+        Item item = newItem(movie, termCounts(movie));
+        addPostings(item);
+        Map<Long, Double> scores = score(item);
+        item.neighbors = topNeighbors(scores);
+        items.put(item.id, item);
+
+        scores.forEach((otherId, score) -> {
+            Item other = items.get(otherId);
+            other.neighbors = withNeighbor(other.neighbors, item.id, score);
+        });
+        for (Long otherId : previousCandidates) {
+            if (!scores.containsKey(otherId)) {
+                Item other = items.get(otherId);
+                other.neighbors = withoutNeighbor(other.neighbors, item.id);
+            }
+        }
+    }
+
+    /**
+     * Removes a movie from the index and from the lists of the movies it was similar to.
+     */
+    public synchronized void delete(long movieId) {
+        Item item = items.get(movieId);
+        if (item == null) {
+            return;
+        }
+        Set<Long> candidates = score(item).keySet();
+        removePostings(item);
+        items.remove(movieId);
+        for (Long otherId : candidates) {
+            Item other = items.get(otherId);
+            other.neighbors = withoutNeighbor(other.neighbors, movieId);
+        }
+    }
+
+    /**
+     * Scores every movie sharing a term or a genre with the given one.
+     */
+    private Map<Long, Double> score(Item item) {
+        Map<Long, double[]> overlaps = new HashMap<>();
+        item.termWeights.forEach((term, weight) ->
+                postingsByTerm.getOrDefault(term, Map.of()).forEach((otherId, otherWeight) ->
+                        overlaps.computeIfAbsent(otherId, id -> new double[2])[0] += weight * otherWeight));
+        for (String genre : item.genres) {
+            for (Long otherId : moviesByGenre.getOrDefault(genre, Set.of())) {
+                overlaps.computeIfAbsent(otherId, id -> new double[2])[1]++;
+            }
+        }
+        overlaps.remove(item.id);
+
+        Map<Long, Double> scores = new HashMap<>(overlaps.size() * 2);
+        overlaps.forEach((otherId, overlap) -> {
+            Item other = items.get(otherId);
+            double genreSimilarity = overlap[1] == 0
+                    ? 0 : overlap[1] / Math.sqrt((double) item.genres.size() * other.genres.size());
+            scores.put(otherId, TEXT_WEIGHT * overlap[0]
+                    + GENRE_WEIGHT * genreSimilarity
+                    + RELEASE_WEIGHT * releaseSimilarity(item, other)
+                    + RATING_WEIGHT * ratingSimilarity(item, other));
+        });
+        return scores;
+    }
+
+    private Item newItem(Movie movie, Map<String, Integer> termCounts) {
+        Map<String, Double> weights = new HashMap<>(termCounts.size() * 2);
+        double squaredNorm = 0;
+        for (Map.Entry<String, Integer> termCount : termCounts.entrySet()) {
+            double weight = (1 + Math.log(termCount.getValue()))
+                    * inverseDocumentFrequencies.getOrDefault(termCount.getKey(), unseenTermIdf);
+            weights.put(termCount.getKey(), weight);
+            squaredNorm += weight * weight;
+        }
+        double norm = Math.sqrt(squaredNorm);
+        weights.replaceAll((term, weight) -> weight / norm);
+
+        Set<String> genres = new HashSet<>();
+        for (String genre : movie.getGenreNames()) {
+            genres.add(genre.toLowerCase(Locale.ROOT));
+        }
+        return new Item(movie.getId(), toResponse(movie), weights, genres,
+                movie.getReleaseDate() == null ? null : movie.getReleaseDate().toEpochDay(), movie.getRating());
+    }
+
+    private void addPostings(Item item) {
+        item.termWeights.forEach((term, weight) ->
+                postingsByTerm.computeIfAbsent(term, t -> new HashMap<>()).put(item.id, weight));
+        for (String genre : item.genres) {
+            moviesByGenre.computeIfAbsent(genre, g -> new HashSet<>()).add(item.id);
+        }
+    }
+
+    private void removePostings(Item item) {
+        for (String term : item.termWeights.keySet()) {
+            Map<Long, Double> postings = postingsByTerm.get(term);
+            postings.remove(item.id);
+            if (postings.isEmpty()) {
+                postingsByTerm.remove(term);
+            }
+        }
+        for (String genre : item.genres) {
+            Set<Long> movies = moviesByGenre.get(genre);
+            movies.remove(item.id);
+            if (movies.isEmpty()) {
+                moviesByGenre.remove(genre);
+            }
+        }
+    }
+
+    private Neighbor[] topNeighbors(Map<Long, Double> scores) {
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(neighborCount + 1, BY_SCORE.reversed());
+        scores.forEach((movieId, score) -> {
+            best.add(new Neighbor(movieId, score));
+            if (best.size() > neighborCount) {
+                best.poll();
+            }
+        });
+        Neighbor[] neighbors = best.toArray(Neighbor[]::new);
+        Arrays.sort(neighbors, BY_SCORE);
+        return neighbors;
+    }
+
+    private Neighbor[] withNeighbor(Neighbor[] neighbors, long movieId, double score) {
+        Neighbor[] others = withoutNeighbor(neighbors, movieId);
+        Neighbor candidate = new Neighbor(movieId, score);
+        if (others.length >= neighborCount && BY_SCORE.compare(candidate, others[others.length - 1]) > 0) {
+            return others;
+        }
+        int position = -Arrays.binarySearch(others, candidate, BY_SCORE) - 1;
+        Neighbor[] updated = new Neighbor[Math.min(others.length + 1, neighborCount)];
+        System.arraycopy(others, 0, updated, 0, position);
+        updated[position] = candidate;
+        System.arraycopy(others, position, updated, position + 1, updated.length - position - 1);
+        return updated;
+    }
+
+    private static Neighbor[] withoutNeighbor(Neighbor[] neighbors, long movieId) {
+        for (int position = 0; position < neighbors.length; position++) {
+            if (neighbors[position].movieId() == movieId) {
+                Neighbor[] updated = new Neighbor[neighbors.length - 1];
+                System.arraycopy(neighbors, 0, updated, 0, position);
+                System.arraycopy(neighbors, position + 1, updated, position, updated.length - position);
+                return updated;
+            }
+        }
+        return neighbors;
+    }
+
+    private static double releaseSimilarity(Item item, Item other) {
+        if (item.releaseEpochDay == null || other.releaseEpochDay == null) {
+            return 0;
+        }
+        return Math.exp(-Math.abs(item.releaseEpochDay - other.releaseEpochDay) / RELEASE_DECAY_DAYS);
+    }
+
+    private static double ratingSimilarity(Item item, Item other) {
+        if (item.rating == null || other.rating == null) {
+            return 0;
+        }
+        return 1 - Math.min(1, Math.abs(item.rating - other.rating) / MAX_RATING);
+    }
+
+    private static double inverseDocumentFrequency(int documents, int documentFrequency) {
+        return Math.log((documents + 1.0) / (documentFrequency + 1.0)) + 1;
+    }
+
+    private static Map<String, Integer> termCounts(Movie movie) {
+        Map<String, Integer> counts = new HashMap<>();
+        addTerms(movie.getTitle(), (int) TITLE_BOOST, counts);
+        addTerms(movie.getDescription(), 1, counts);
+        return counts;
+    }
+
+    private static void addTerms(String text, int occurrences, Map<String, Integer> counts) {
+        if (text == null) {
+            return;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                counts.merge(token, occurrences, Integer::sum);
+            }
+        }
+    }
+
+    private static MovieResponse toResponse(Movie movie) {
+        return MovieResponse.builder()
+                .id(movie.getId())
+                .title(movie.getTitle())
+                .description(movie.getDescription())
+                .releaseDate(movie.getReleaseDate())
+                .genre(movie.getPrimaryGenre())
+                .genres(movie.getGenreNames())
+                .rating(movie.getRating())
+                .build();
+    }
+
+    record Neighbor(long movieId, double score) {}
+
+    static final class Item {
+
+        private final long id;
+        private final MovieResponse movie;
+        // L2-normalized TF-IDF weights, so the dot product of two items is their cosine similarity
+        private final Map<String, Double> termWeights;
+        private final Set<String> genres;
+        private final Long releaseEpochDay;
+        private final Double rating;
+        // Replaced, never modified, so readers see a consistent list without locking
+        private volatile Neighbor[] neighbors = new Neighbor[0];
+
+        private Item(long id, MovieResponse movie, Map<String, Double> termWeights, Set<String> genres,
+                     Long releaseEpochDay, Double rating) {
+            this.id = id;
+            this.movie = movie;
+            this.termWeights = termWeights;
+            this.genres = genres;
+            this.releaseEpochDay = releaseEpochDay;
+            this.rating = rating;
+        }
+    }
+
+    // Scores a range of movies, splitting it in half until it is small enough to score sequentially
+    private final class NeighborTask extends RecursiveAction {
+
+        private final Item[] batch;
+        private final int from;
+        private final int to;
+
+        NeighborTask(Item[] batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                for (int row = from; row < to; row++) {
+                    batch[row].neighbors = topNeighbors(score(batch[row]));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new NeighborTask(batch, from, middle), new NeighborTask(batch, middle, to));
+        }
+    }
+}
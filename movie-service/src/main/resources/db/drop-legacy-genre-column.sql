@@ -0,0 +1,5 @@
+-- Drops the free-text movies.genre column replaced by the genres dictionary and movie_genres join table.
+-- Not run by the service. Run it by hand once every instance reads genres from movie_genres, and after one of them
+-- has been started since the last old instance stopped, so LegacyGenreColumnMigration has copied every value.
+
+ALTER TABLE movies DROP COLUMN IF EXISTS genre;
@@ -0,0 +1,82 @@
+-- Range-partitioned movies table, used by the "partitioned" profile.
+-- Hibernate does not manage the schema under this profile, so every table the entities map is defined here.
+-- Year or decade partitions are created at runtime by MoviePartitionManager;
+-- rows outside every partition land in movies_default until theirs is created.
+-- The partition key must be part of the primary key, so ids are unique through the sequence alone.
+
+CREATE TABLE IF NOT EXISTS movies (
+    id           BIGSERIAL,
+    title        VARCHAR(255) NOT NULL,
+    description  TEXT,
+    release_date DATE         NOT NULL,
+    rating       DOUBLE PRECISION,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE,
+    natural_key_hash BIGINT,
+    PRIMARY KEY (id, release_date),
+    -- Includes the partition key, as unique constraints on a partitioned table must
+    CONSTRAINT movies_natural_key_hash_key UNIQUE (natural_key_hash, release_date)
+) PARTITION BY RANGE (release_date);
+
+CREATE TABLE IF NOT EXISTS movies_default PARTITION OF movies DEFAULT;
+
+CREATE TABLE IF NOT EXISTS genres (
+    id   SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- movie_id cannot reference movies: a foreign key needs a unique id, which the partitioned table lacks
+CREATE TABLE IF NOT EXISTS movie_genres (
+    movie_id BIGINT   NOT NULL,
+    genre_id SMALLINT NOT NULL REFERENCES genres (id),
+    position INTEGER  NOT NULL,
+    PRIMARY KEY (movie_id, position),
+    CONSTRAINT movie_genres_movie_genre_key UNIQUE (movie_id, genre_id)
+);
+
+CREATE INDEX IF NOT EXISTS movie_genres_genre_movie_idx ON movie_genres (genre_id, movie_id);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    BIGINT       NOT NULL,
+    movie_id        BIGINT,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_keys_expires_at_idx ON idempotency_keys (expires_at);
+
+-- Audience vote totals, upserted in batches by MovieVoteService
+CREATE TABLE IF NOT EXISTS movie_votes (
+    movie_id   BIGINT PRIMARY KEY,
+    vote_count BIGINT NOT NULL,
+    score_sum  BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS vote_flushes (
+    flush_id   UUID PRIMARY KEY,
+    flushed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS vote_flushes_flushed_at_idx ON vote_flushes (flushed_at);
+
+-- sold_seats is a bitset, bit n % 64 of element n / 64 standing for seat n
+CREATE TABLE IF NOT EXISTS showtimes (
+    id            BIGSERIAL PRIMARY KEY,
+    movie_id      BIGINT       NOT NULL,
+    starts_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    auditorium    VARCHAR(255) NOT NULL,
+    seat_rows     INTEGER      NOT NULL,
+    seats_per_row INTEGER      NOT NULL,
+    sold_seats    BIGINT[]     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS showtimes_movie_starts_at_idx ON showtimes (movie_id, starts_at);
+
+-- Unexpired seat holds, written in the background by SeatHoldService and restored after a restart
+CREATE TABLE IF NOT EXISTS seat_holds (
+    id          UUID PRIMARY KEY,
+    showtime_id BIGINT    NOT NULL,
+    seats       INTEGER[] NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS seat_holds_showtime_idx ON seat_holds (showtime_id);
@@ -0,0 +1,172 @@
+package com.showscape.movieservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.showscape.movieservice.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+class ResponseBodyCacheFilterTest {
+
+    private static final String GENRES_JSON = "[\"Action\",\"Comedy\"]";
+
+    private ResponseBodyCache cache;
+    private ResponseBodyCacheFilter filter;
+    private AtomicInteger renders;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(new ResponseCacheProperties(true, List.of("/api/movies/genres"),
+                List.of("fields"), Duration.ofMinutes(1), 2), new SimpleMeterRegistry());
+        filter = new ResponseBodyCacheFilter(cache, List.of("/api/movies/genres"), List.of("fields"));
+        renders = new AtomicInteger();
+        chain = (request, response) -> {
+            renders.incrementAndGet();
+            response.setContentType("application/json");
+            response.getOutputStream().write(GENRES_JSON.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    void doFilter_shouldServeRepeatedRequestsFromCache() throws Exception {
+        MockHttpServletResponse first = perform(get("/api/movies/genres"));
+        MockHttpServletResponse second = perform(get("/api/movies/genres"));
+
+        assertThat(renders).hasValue(1);
+        assertThat(first.getHeader(ResponseBodyCacheFilter.CACHE_HEADER)).isEqualTo("MISS");
+        assertThat(second.getHeader(ResponseBodyCacheFilter.CACHE_HEADER)).isEqualTo("HIT");
+        assertThat(second.getContentAsString()).isEqualTo(GENRES_JSON);
+        assertThat(second.getContentType()).isEqualTo("application/json");
+    }
+
+    @Test
+    void doFilter_shouldServeGzipVariant_whenClientAcceptsIt() throws Exception {
+        MockHttpServletRequest request = get("/api/movies/genres");
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+
+        perform(get("/api/movies/genres"));
+        MockHttpServletResponse response = perform(request);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(GENRES_JSON);
+    }
+
+    @Test
+    void doFilter_shouldRenderAgain_afterInvalidation() throws Exception {
+        perform(get("/api/movies/genres"));
+        cache.invalidate();
+        MockHttpServletResponse response = perform(get("/api/movies/genres"));
+
+        assertThat(renders).hasValue(2);
+        assertThat(response.getHeader(ResponseBodyCacheFilter.CACHE_HEADER)).isEqualTo("MISS");
+    }
+
+    @Test
+    void doFilter_shouldNotCacheErrorResponses() throws Exception {
+        chain = (request, response) -> {
+            renders.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        };
+
+        perform(get("/api/movies/genres"));
+        perform(get("/api/movies/genres"));
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void doFilter_shouldShareEntry_acrossUnusedParametersAndFieldOrder() throws Exception {
+        perform(get("/api/movies/genres?fields=title,id"));
+        MockHttpServletResponse response = perform(get("/api/movies/genres?fields=id,title&cacheBuster=42"));
+
+        assertThat(renders).hasValue(1);
+        assertThat(response.getHeader(ResponseBodyCacheFilter.CACHE_HEADER)).isEqualTo("HIT");
+    }
+
+    @Test
+    void doFilter_shouldEvictLeastRecentlyUsedEntry_whenFull() throws Exception {
+        perform(get("/api/movies/genres?fields=id"));
+        perform(get("/api/movies/genres?fields=title"));
+        perform(get("/api/movies/genres?fields=id"));
+        perform(get("/api/movies/genres?fields=rating"));
+
+        assertThat(perform(get("/api/movies/genres?fields=id")).getHeader(ResponseBodyCacheFilter.CACHE_HEADER))
+                .isEqualTo("HIT");
+        assertThat(perform(get("/api/movies/genres?fields=title")).getHeader(ResponseBodyCacheFilter.CACHE_HEADER))
+                .isEqualTo("MISS");
+    }
+
+    @Test
+    void doFilter_shouldServeUncompressedBody_whenResponseIsNotStored() throws Exception {
+        chain = (request, response) -> {
+            renders.incrementAndGet();
+            cache.invalidate();
+            response.setContentType("application/json");
+            response.getOutputStream().write(GENRES_JSON.getBytes(StandardCharsets.UTF_8));
+        };
+        MockHttpServletRequest request = get("/api/movies/genres");
+        request.addHeader("Accept-Encoding", "gzip");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(GENRES_JSON);
+    }
+
+    @Test
+    void doFilter_shouldBypassCache_forUnlistedPaths() throws Exception {
+        MockHttpServletResponse response = perform(get("/api/movies"));
+        perform(get("/api/movies"));
+
+        assertThat(renders).hasValue(2);
+        assertThat(response.getHeader(ResponseBodyCacheFilter.CACHE_HEADER)).isNull();
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourQualityZero() {
+        assertThat(ResponseBodyCacheFilter.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(ResponseBodyCacheFilter.acceptsGzip("*")).isTrue();
+        assertThat(ResponseBodyCacheFilter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseBodyCacheFilter.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseBodyCacheFilter.acceptsGzip(null)).isFalse();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        int query = uri.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", query < 0 ? uri : uri.substring(0, query));
+        if (query >= 0) {
+            request.setQueryString(uri.substring(query + 1));
+            for (String parameter : uri.substring(query + 1).split("&")) {
+                String[] nameAndValue = parameter.split("=", 2);
+                request.addParameter(nameAndValue[0], nameAndValue[1]);
+            }
+        }
+        return request;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.showscape.movieservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+@SpringBootTest
+@Testcontainers
+class ReplicaRoutingIntegrationTest {
+
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(1);
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16").withDatabaseName("showscape_primary");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16").withDatabaseName("showscape_replica");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("showscape.datasource.routing.enabled", () -> "true");
+        registry.add("showscape.datasource.routing.replicas[0].url", replica::getJdbcUrl);
+        registry.add("showscape.datasource.routing.replicas[0].username", replica::getUsername);
+        registry.add("showscape.datasource.routing.replicas[0].password", replica::getPassword);
+        registry.add("showscape.datasource.routing.health-check-timeout", HEALTH_CHECK_TIMEOUT::toString);
+    }
+
+    @Test
+    void readOnlyTransaction_shouldRunOnReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("showscape_replica");
+    }
+
+    @Test
+    void readWriteTransaction_shouldRunOnPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("showscape_primary");
+    }
+
+    @Test
+    void readOnlyTransaction_shouldRunOnPrimary_whenPinnedAfterOwnWrite() {
+        ReadYourWritesContext.pinToPrimary();
+        try {
+            assertThat(currentDatabase(true)).isEqualTo("showscape_primary");
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    @Test
+    void readOnlyTransaction_shouldFallBackToPrimary_whenNoReplicaIsHealthy() {
+        replicaRoutingDataSource.checkReplicaHealth(HEALTH_CHECK_TIMEOUT);
+        assertThat(replicaRoutingDataSource.getHealthyReplicas()).containsExactly("replica-0");
+
+        replica.getDockerClient().pauseContainerCmd(replica.getContainerId()).exec();
+        try {
+            long startedAt = System.nanoTime();
+            replicaRoutingDataSource.checkReplicaHealth(HEALTH_CHECK_TIMEOUT);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+            assertThat(elapsed).isLessThan(HEALTH_CHECK_TIMEOUT.plusMillis(500));
+            assertThat(replicaRoutingDataSource.getHealthyReplicas()).isEmpty();
+            assertThat(currentDatabase(true)).isEqualTo("showscape_primary");
+        } finally {
+            replica.getDockerClient().unpauseContainerCmd(replica.getContainerId()).exec();
+            replicaRoutingDataSource.checkReplicaHealth(HEALTH_CHECK_TIMEOUT);
+        }
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
@@ -2,11 +2,20 @@ package com.showscape.movieservice.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.showscape.movieservice.dto.BulkMovieUpdate;
+import com.showscape.movieservice.dto.BulkOperationResult;
+import com.showscape.movieservice.dto.GenreFacet;
 import com.showscape.movieservice.dto.MovieRequest;
 import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.dto.VoteRequest;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.entity.Genre;
 import com.showscape.movieservice.entity.Movie;
 import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.service.GenreDictionary;
+import com.showscape.movieservice.service.SimilarMovieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +34,10 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -41,6 +55,12 @@ class MovieControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private GenreDictionary genreDictionary;
+
+    @Autowired
+    private SimilarMovieService similarMovieService;
+
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
 
@@ -78,9 +98,71 @@ class MovieControllerIntegrationTest {
         assertThat(response.getBody().title()).isEqualTo("Inception");
     }
 
+    @Test
+    void createMovie_shouldReturnConflict_whenTitleAndReleaseDateExist() {
+        MovieRequest movieRequest = MovieRequest.builder()
+                .title("Inception")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .genre("Sci-Fi")
+                .rating(8.8)
+                .build();
+        MovieRequest sameMovie = MovieRequest.builder()
+                .title("  inception ")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .genre("Thriller")
+                .rating(9.0)
+                .build();
+
+        restTemplate.postForEntity(getBaseUrl(), movieRequest, MovieResponse.class);
+        ResponseEntity<String> response = restTemplate.postForEntity(getBaseUrl(), sameMovie, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(movieRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createMovie_shouldReplayCreatedMovie_whenIdempotencyKeyIsRetried() {
+        MovieRequest movieRequest = MovieRequest.builder()
+                .title("Inception")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .genre("Sci-Fi")
+                .rating(8.8)
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(MovieController.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+
+        ResponseEntity<MovieResponse> first = restTemplate.postForEntity(
+                getBaseUrl(), new HttpEntity<>(movieRequest, headers), MovieResponse.class);
+        ResponseEntity<MovieResponse> retry = restTemplate.postForEntity(
+                getBaseUrl(), new HttpEntity<>(movieRequest, headers), MovieResponse.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(MovieController.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody().id()).isEqualTo(first.getBody().id());
+        assertThat(movieRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createMovie_shouldReturnUnprocessableEntity_whenIdempotencyKeyIsReusedForAnotherMovie() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(MovieController.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        MovieRequest inception = MovieRequest.builder()
+                .title("Inception").releaseDate(LocalDate.of(2010, 7, 16)).genre("Sci-Fi").rating(8.8).build();
+        MovieRequest interstellar = MovieRequest.builder()
+                .title("Interstellar").releaseDate(LocalDate.of(2014, 11, 7)).genre("Sci-Fi").rating(8.6).build();
+
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(inception, headers), MovieResponse.class);
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                getBaseUrl(), new HttpEntity<>(interstellar, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(movieRepository.count()).isEqualTo(1);
+    }
+
     @Test
     void getMovieById_shouldReturnMovie_whenMovieExists() {
-        Movie movie = movieRepository.save(Movie.builder().title("Interstellar").releaseDate(LocalDate.of(2014, 11, 7)).genre("Sci-Fi").rating(8.6).build());
+        Movie movie = movieRepository.save(Movie.builder().title("Interstellar").releaseDate(LocalDate.of(2014, 11, 7)).genres(genres("Sci-Fi")).rating(8.6).build());
 
         ResponseEntity<MovieResponse> response = restTemplate.getForEntity(getBaseUrl() + "/" + movie.getId(), MovieResponse.class);
 
@@ -98,8 +180,8 @@ class MovieControllerIntegrationTest {
 
     @Test
     void getAllMovies_shouldReturnListOfMovies() {
-        movieRepository.save(Movie.builder().title("Movie 1").releaseDate(LocalDate.of(2020,1,1)).genre("Action").rating(7.0).build());
-        movieRepository.save(Movie.builder().title("Movie 2").releaseDate(LocalDate.of(2021,1,1)).genre("Comedy").rating(8.0).build());
+        movieRepository.save(Movie.builder().title("Movie 1").releaseDate(LocalDate.of(2020,1,1)).genres(genres("Action")).rating(7.0).build());
+        movieRepository.save(Movie.builder().title("Movie 2").releaseDate(LocalDate.of(2021,1,1)).genres(genres("Comedy")).rating(8.0).build());
 
         ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(getBaseUrl(), MovieResponse[].class);
 
@@ -111,7 +193,7 @@ class MovieControllerIntegrationTest {
 
     @Test
     void updateMovie_shouldReturnUpdatedMovie() {
-        Movie movie = movieRepository.save(Movie.builder().title("Old Title").releaseDate(LocalDate.of(2020,1,1)).genre("Action").rating(7.0).build());
+        Movie movie = movieRepository.save(Movie.builder().title("Old Title").releaseDate(LocalDate.of(2020,1,1)).genres(genres("Action")).rating(7.0).build());
 
         MovieRequest updatedRequest = MovieRequest.builder()
                 .title("New Title")
@@ -155,7 +237,7 @@ class MovieControllerIntegrationTest {
 
     @Test
     void deleteMovie_shouldReturnNoContent_whenMovieExists() {
-        Movie movie = movieRepository.save(Movie.builder().title("To Be Deleted").releaseDate(LocalDate.of(2020,1,1)).genre("Action").rating(7.0).build());
+        Movie movie = movieRepository.save(Movie.builder().title("To Be Deleted").releaseDate(LocalDate.of(2020,1,1)).genres(genres("Action")).rating(7.0).build());
 
         ResponseEntity<Void> response = restTemplate.exchange(
                 getBaseUrl() + "/" + movie.getId(),
@@ -182,8 +264,8 @@ class MovieControllerIntegrationTest {
 
     @Test
     void getMoviesByGenre_shouldReturnListOfMovies() {
-        movieRepository.save(Movie.builder().title("Action Movie").genre("Action").releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
-        movieRepository.save(Movie.builder().title("Comedy Movie").genre("Comedy").releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
+        movieRepository.save(Movie.builder().title("Action Movie").genres(genres("Action")).releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
+        movieRepository.save(Movie.builder().title("Comedy Movie").genres(genres("Comedy")).releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
 
         ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(getBaseUrl() + "/genre/Action", MovieResponse[].class);
 
@@ -195,8 +277,8 @@ class MovieControllerIntegrationTest {
 
     @Test
     void getMoviesByReleaseYear_shouldReturnListOfMovies() {
-        movieRepository.save(Movie.builder().title("Movie 2020").releaseDate(LocalDate.of(2020, 3, 10)).genre("Drama").rating(6.5).build());
-        movieRepository.save(Movie.builder().title("Movie 2021").releaseDate(LocalDate.of(2021, 7, 20)).genre("Drama").rating(6.5).build());
+        movieRepository.save(Movie.builder().title("Movie 2020").releaseDate(LocalDate.of(2020, 3, 10)).genres(genres("Drama")).rating(6.5).build());
+        movieRepository.save(Movie.builder().title("Movie 2021").releaseDate(LocalDate.of(2021, 7, 20)).genres(genres("Drama")).rating(6.5).build());
 
         ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(getBaseUrl() + "/year/2020", MovieResponse[].class);
 
@@ -208,8 +290,8 @@ class MovieControllerIntegrationTest {
 
     @Test
     void getDistinctGenres_shouldReturnDistinctGenres() {
-        movieRepository.save(Movie.builder().title("Movie 1").genre("Action").releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
-        movieRepository.save(Movie.builder().title("Movie 2").genre("Comedy").releaseDate(LocalDate.of(2021,1,1)).rating(8.0).build());
+        movieRepository.save(Movie.builder().title("Movie 1").genres(genres("Action")).releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
+        movieRepository.save(Movie.builder().title("Movie 2").genres(genres("Comedy")).releaseDate(LocalDate.of(2021,1,1)).rating(8.0).build());
 
         ResponseEntity<String[]> response = restTemplate.getForEntity(getBaseUrl() + "/genres", String[].class);
 
@@ -220,8 +302,8 @@ class MovieControllerIntegrationTest {
 
     @Test
     void getDistinctYears_shouldReturnDistinctYears() {
-        movieRepository.save(Movie.builder().title("Movie 1").genre("Action").releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
-        movieRepository.save(Movie.builder().title("Movie 2").genre("Comedy").releaseDate(LocalDate.of(2021,1,1)).rating(8.0).build());
+        movieRepository.save(Movie.builder().title("Movie 1").genres(genres("Action")).releaseDate(LocalDate.of(2020,1,1)).rating(7.0).build());
+        movieRepository.save(Movie.builder().title("Movie 2").genres(genres("Comedy")).releaseDate(LocalDate.of(2021,1,1)).rating(8.0).build());
 
         ResponseEntity<Integer[]> response = restTemplate.getForEntity(getBaseUrl() + "/years", Integer[].class);
 
@@ -229,4 +311,169 @@ class MovieControllerIntegrationTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).containsExactlyInAnyOrder(2020, 2021);
     }
+
+    @Test
+    void getMoviesByGenre_shouldLoadOnlySelectedFields_whenFieldsAreRequested() {
+        movieRepository.save(Movie.builder().title("Action Movie").description("A long synopsis.").genres(genres("Action"))
+                .releaseDate(LocalDate.of(2020, 1, 1)).rating(7.0).build());
+
+        ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(
+                getBaseUrl() + "/genre/Action?fields=id,title,rating", MovieResponse[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getBody()[0].title()).isEqualTo("Action Movie");
+        assertThat(response.getBody()[0].rating()).isEqualTo(7.0);
+        assertThat(response.getBody()[0].description()).isNull();
+        assertThat(response.getBody()[0].genre()).isNull();
+    }
+
+    @Test
+    void createMovie_shouldStoreEveryGenre_primaryFirst() {
+        MovieRequest movieRequest = MovieRequest.builder()
+                .title("Alien")
+                .releaseDate(LocalDate.of(1979, 5, 25))
+                .genre("Horror")
+                .genres(List.of("Sci-Fi", "Horror"))
+                .rating(8.5)
+                .build();
+
+        ResponseEntity<MovieResponse> response = restTemplate.postForEntity(getBaseUrl(), movieRequest, MovieResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().genre()).isEqualTo("Horror");
+        assertThat(response.getBody().genres()).containsExactly("Horror", "Sci-Fi");
+        assertThat(movieRepository.findById(response.getBody().id()).orElseThrow().getGenreNames())
+                .containsExactly("Horror", "Sci-Fi");
+    }
+
+    @Test
+    void getMoviesByGenres_shouldReturnMoviesWithEveryGenre() {
+        movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        movieRepository.save(Movie.builder().title("Halloween").genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+
+        ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(
+                getBaseUrl() + "/genre?genres=Sci-Fi,Horror", MovieResponse[].class);
+        ResponseEntity<MovieResponse[]> secondaryGenre = restTemplate.getForEntity(
+                getBaseUrl() + "/genre/Sci-Fi", MovieResponse[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(MovieResponse::title).containsExactly("Alien");
+        assertThat(secondaryGenre.getBody()).extracting(MovieResponse::title).containsExactly("Alien");
+    }
+
+    @Test
+    void getGenreFacets_shouldCountMoviesPerGenre() {
+        movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        movieRepository.save(Movie.builder().title("Halloween").genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+
+        ResponseEntity<GenreFacet[]> all = restTemplate.getForEntity(getBaseUrl() + "/genres/facets", GenreFacet[].class);
+        ResponseEntity<GenreFacet[]> sciFi = restTemplate.getForEntity(
+                getBaseUrl() + "/genres/facets?genres=Sci-Fi", GenreFacet[].class);
+
+        assertThat(all.getBody()).containsExactly(new GenreFacet("Horror", 2), new GenreFacet("Sci-Fi", 1));
+        assertThat(sciFi.getBody()).containsExactly(new GenreFacet("Horror", 1), new GenreFacet("Sci-Fi", 1));
+    }
+
+    @Test
+    void getAllMovies_shouldLoadGenres_whenGenreFieldsAreRequested() {
+        movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+
+        ResponseEntity<MovieResponse[]> response = restTemplate.getForEntity(
+                getBaseUrl() + "?fields=title,genres", MovieResponse[].class);
+
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getBody()[0].id()).isNull();
+        assertThat(response.getBody()[0].genres()).containsExactly("Horror", "Sci-Fi");
+    }
+
+    @Test
+    void getSimilarMovies_shouldRankSimilarMovies_andIncludeMoviesCreatedSince() {
+        Movie alien = movieRepository.save(Movie.builder().title("Alien").description("A crew is stalked by an alien aboard their ship.")
+                .genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        movieRepository.save(Movie.builder().title("Halloween").description("A masked killer stalks a babysitter.")
+                .genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+        movieRepository.save(Movie.builder().title("Notting Hill").description("A bookseller falls for a film star.")
+                .genres(genres("Romance")).releaseDate(LocalDate.of(1999,5,28)).rating(7.2).build());
+        // Forget movies other tests deleted directly through the repository
+        similarMovieService.rebuild();
+
+        ResponseEntity<MovieResponse[]> before = restTemplate.getForEntity(
+                getBaseUrl() + "/" + alien.getId() + "/similar", MovieResponse[].class);
+        MovieRequest aliens = MovieRequest.builder().title("Aliens").description("Marines fight an alien hive.")
+                .releaseDate(LocalDate.of(1986, 7, 18)).genre("Sci-Fi").rating(8.4).build();
+        restTemplate.postForEntity(getBaseUrl(), aliens, MovieResponse.class);
+        ResponseEntity<MovieResponse[]> after = restTemplate.getForEntity(
+                getBaseUrl() + "/" + alien.getId() + "/similar?n=1", MovieResponse[].class);
+
+        assertThat(before.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(before.getBody()).extracting(MovieResponse::title).containsExactly("Halloween");
+        assertThat(after.getBody()).extracting(MovieResponse::title).containsExactly("Aliens");
+        assertThat(restTemplate.getForEntity(getBaseUrl() + "/999999/similar", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void updateMovies_shouldChangeEveryMatchingMovie() {
+        Movie alien = movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        Movie halloween = movieRepository.save(Movie.builder().title("Halloween").genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+        Movie scream = movieRepository.save(Movie.builder().title("Scream").genres(genres("Horror")).releaseDate(LocalDate.of(1996,12,20)).rating(7.4).build());
+
+        ResponseEntity<BulkOperationResult> response = restTemplate.exchange(
+                getBaseUrl() + "/bulk?genre=Horror&toYear=1980", HttpMethod.PATCH,
+                new HttpEntity<>(new BulkMovieUpdate(List.of("Classic", "Horror"), 9.0)), BulkOperationResult.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().affected()).isEqualTo(2);
+        for (Long id : List.of(alien.getId(), halloween.getId())) {
+            MovieResponse movie = restTemplate.getForObject(getBaseUrl() + "/" + id, MovieResponse.class);
+            assertThat(movie.rating()).isEqualTo(9.0);
+            assertThat(movie.genres()).containsExactly("Classic", "Horror");
+        }
+        MovieResponse untouched = restTemplate.getForObject(getBaseUrl() + "/" + scream.getId(), MovieResponse.class);
+        assertThat(untouched.rating()).isEqualTo(7.4);
+        assertThat(untouched.genres()).containsExactly("Horror");
+    }
+
+    @Test
+    void deleteMovies_shouldDeleteEveryMatchingMovie() {
+        Movie alien = movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        Movie halloween = movieRepository.save(Movie.builder().title("Halloween").genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+        Movie scream = movieRepository.save(Movie.builder().title("Scream").genres(genres("Horror")).releaseDate(LocalDate.of(1996,12,20)).rating(7.4).build());
+
+        ResponseEntity<BulkOperationResult> response = restTemplate.exchange(
+                getBaseUrl() + "/bulk?ids=" + alien.getId() + "," + halloween.getId() + "," + scream.getId() + "&fromYear=1979",
+                HttpMethod.DELETE, null, BulkOperationResult.class);
+        ResponseEntity<BulkOperationResult> emptyFilter = restTemplate.exchange(
+                getBaseUrl() + "/bulk", HttpMethod.DELETE, null, BulkOperationResult.class);
+
+        assertThat(response.getBody().affected()).isEqualTo(2);
+        assertThat(movieRepository.findAllIds()).containsExactly(halloween.getId());
+        assertThat(emptyFilter.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void graphql_shouldReturnMoviesWithNestedVotesAndFacets_inOneRequest() throws Exception {
+        Movie alien = movieRepository.save(Movie.builder().title("Alien").genres(genres("Horror", "Sci-Fi")).releaseDate(LocalDate.of(1979,5,25)).rating(8.5).build());
+        movieRepository.save(Movie.builder().title("Halloween").genres(genres("Horror")).releaseDate(LocalDate.of(1978,10,25)).rating(7.7).build());
+        restTemplate.postForEntity(getBaseUrl() + "/" + alien.getId() + "/votes", new VoteRequest(9), VoteSummary.class);
+
+        String query = "{ movies(genres: [\"Horror\"]) { title genres votes { voteCount } } years }";
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/graphql", Map.of("query", query), String.class);
+
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body.has("errors")).isFalse();
+        JsonNode movies = body.at("/data/movies");
+        assertThat(movies).extracting(movie -> movie.get("title").asText()).containsExactly("Alien", "Halloween");
+        assertThat(movies.get(0).at("/genres/1").asText()).isEqualTo("Sci-Fi");
+        assertThat(movies.get(0).at("/votes/voteCount").asInt()).isEqualTo(1);
+        assertThat(movies.get(1).at("/votes/voteCount").asInt()).isZero();
+        assertThat(body.at("/data/years")).extracting(JsonNode::asInt).containsExactly(1978, 1979);
+    }
+
+    private List<Genre> genres(String... names) {
+        return new ArrayList<>(genreDictionary.resolve(List.of(names)));
+    }
 }
@@ -1,5 +1,6 @@
 package com.showscape.movieservice.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -8,16 +9,31 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedInputStream;
+import com.showscape.movieservice.dto.BulkMovieFilter;
+import com.showscape.movieservice.dto.BulkMovieUpdate;
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieField;
 import com.showscape.movieservice.dto.MovieRequest;
 import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.exception.InvalidBulkOperationException;
 import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.protobuf.MovieProtobufCodec;
+import com.showscape.movieservice.protobuf.MovieProtobufHttpMessageConverter;
+import com.showscape.movieservice.service.MovieCreation;
 import com.showscape.movieservice.service.MovieService;
+import com.showscape.movieservice.service.MovieVoteService;
+import com.showscape.movieservice.service.SimilarMovieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +44,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 
 @WebMvcTest(MovieController.class)
@@ -39,6 +56,12 @@ class MovieControllerTest {
     @MockitoBean
     private MovieService movieService;
 
+    @MockitoBean
+    private MovieVoteService movieVoteService;
+
+    @MockitoBean
+    private SimilarMovieService similarMovieService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -77,6 +100,19 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.title").value("Inception"));
     }
 
+    @Test
+    void createMovie_shouldMarkReplayedResponse_whenIdempotencyKeyWasUsed() throws Exception {
+        when(movieService.createMovie(any(MovieRequest.class), eq("key-1"))).thenReturn(new MovieCreation(movieResponse, true));
+
+        mockMvc.perform(post("/api/movies")
+                        .header(MovieController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movieRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(MovieController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
     @Test
     void createMovie_shouldReturnBadRequest_whenValidationFails() throws Exception {
         movieRequest = MovieRequest.builder()
@@ -171,6 +207,114 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$[0].genre").value("Sci-Fi"));
     }
 
+    @Test
+    void getMoviesByGenres_shouldPassEveryRequestedGenre() throws Exception {
+        when(movieService.getMoviesByGenres(List.of("Sci-Fi", "Thriller"))).thenReturn(List.of(movieResponse));
+
+        mockMvc.perform(get("/api/movies/genre").param("genres", "Sci-Fi,Thriller"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+    }
+
+    @Test
+    void getMoviesByGenres_shouldReturnBadRequest_whenGenresAreMissing() throws Exception {
+        mockMvc.perform(get("/api/movies/genre"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Missing required parameter 'genres'"));
+    }
+
+    @Test
+    void getGenreFacets_shouldReturnCountsPerGenre() throws Exception {
+        when(movieService.getGenreFacets(List.of())).thenReturn(List.of(new GenreFacet("Sci-Fi", 3)));
+
+        mockMvc.perform(get("/api/movies/genres/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].genre").value("Sci-Fi"))
+                .andExpect(jsonPath("$[0].count").value(3));
+    }
+
+    @Test
+    void voteForMovie_shouldReturnAcceptedWithCurrentTotals() throws Exception {
+        when(movieVoteService.vote(1L, 9)).thenReturn(new VoteSummary(1L, 3, 8.0));
+
+        mockMvc.perform(post("/api/movies/{id}/votes", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\": 9}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.voteCount").value(3))
+                .andExpect(jsonPath("$.averageScore").value(8.0));
+    }
+
+    @Test
+    void voteForMovie_shouldReturnBadRequest_whenScoreIsOutOfRange() throws Exception {
+        mockMvc.perform(post("/api/movies/{id}/votes", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\": 11}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateMovies_shouldReturnAffectedCount() throws Exception {
+        when(movieService.updateMovies(new BulkMovieFilter(null, "Sci-Fi", 2000, 2010),
+                new BulkMovieUpdate(null, 7.0))).thenReturn(12);
+
+        mockMvc.perform(patch("/api/movies/bulk")
+                        .param("genre", "Sci-Fi")
+                        .param("fromYear", "2000")
+                        .param("toYear", "2010")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 7.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(12));
+    }
+
+    @Test
+    void updateMovies_shouldReturnBadRequest_whenRatingIsNegative() throws Exception {
+        mockMvc.perform(patch("/api/movies/bulk")
+                        .param("ids", "1,2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteMovies_shouldReturnAffectedCount() throws Exception {
+        when(movieService.deleteMovies(new BulkMovieFilter(List.of(1L, 2L, 3L), null, null, null))).thenReturn(3);
+
+        mockMvc.perform(delete("/api/movies/bulk").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    void deleteMovies_shouldReturnBadRequest_whenFilterIsEmpty() throws Exception {
+        when(movieService.deleteMovies(new BulkMovieFilter(null, null, null, null)))
+                .thenThrow(new InvalidBulkOperationException("A bulk operation needs ids, a genre or a year range"));
+
+        mockMvc.perform(delete("/api/movies/bulk"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSimilarMovies_shouldReturnSimilarMovies() throws Exception {
+        when(similarMovieService.getSimilarMovies(2L, 5)).thenReturn(List.of(movieResponse));
+
+        mockMvc.perform(get("/api/movies/{id}/similar", 2L).param("n", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+    }
+
+    @Test
+    void getSimilarMovies_shouldReturnNotFound_whenMovieDoesNotExist() throws Exception {
+        when(similarMovieService.getSimilarMovies(99L, 10))
+                .thenThrow(new MovieNotFoundException("Movie not found with id: 99"));
+
+        mockMvc.perform(get("/api/movies/{id}/similar", 99L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getMoviesByReleaseYear_shouldReturnListOfMovies() throws Exception {
         List<MovieResponse> movies = List.of(movieResponse);
@@ -181,4 +325,64 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].releaseDate").value("2010-07-16"));
     }
+
+    @Test
+    void getAllMovies_shouldReturnOnlySelectedFields_whenFieldsAreRequested() throws Exception {
+        MovieResponse sparse = MovieResponse.builder().id(1L).title("Inception").build();
+        when(movieService.getAllMovies(EnumSet.of(MovieField.ID, MovieField.TITLE))).thenReturn(List.of(sparse));
+
+        mockMvc.perform(get("/api/movies").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Inception"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void getMovieById_shouldKeepNullFields_whenNoFieldsAreRequested() throws Exception {
+        MovieResponse undescribed = MovieResponse.builder().id(1L).title("Inception").build();
+        when(movieService.getMovieById(1L)).thenReturn(undescribed);
+
+        mockMvc.perform(get("/api/movies/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").exists())
+                .andExpect(jsonPath("$.description").isEmpty())
+                .andExpect(jsonPath("$.rating").exists());
+    }
+
+    @Test
+    void getAllMovies_shouldReturnBadRequest_whenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/movies").param("fields", "id,budget"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllMovies_shouldReturnProtobuf_whenAccepted() throws Exception {
+        when(movieService.getAllMovies()).thenReturn(List.of(movieResponse));
+
+        byte[] body = mockMvc.perform(get("/api/movies").accept(MovieProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MovieProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(MovieProtobufCodec.readMovieList(CodedInputStream.newInstance(body))).containsExactly(movieResponse);
+    }
+
+    @Test
+    void getMovieById_shouldReturnSmile_whenAccepted() throws Exception {
+        when(movieService.getMovieById(1L)).thenReturn(movieResponse);
+
+        mockMvc.perform(get("/api/movies/{id}", 1L).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+    }
+
+    @Test
+    void getMovieById_shouldDefaultToJson_whenAnyMediaTypeIsAccepted() throws Exception {
+        when(movieService.getMovieById(1L)).thenReturn(movieResponse);
+
+        mockMvc.perform(get("/api/movies/{id}", 1L).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Inception"));
+    }
 }
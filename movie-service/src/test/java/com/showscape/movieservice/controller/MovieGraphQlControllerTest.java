@@ -0,0 +1,169 @@
+package com.showscape.movieservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.showscape.movieservice.config.GraphQlConfig;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.service.MovieService;
+import com.showscape.movieservice.service.MovieVoteService;
+import com.showscape.movieservice.service.SeatHoldService;
+import com.showscape.movieservice.service.SimilarMovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@GraphQlTest(MovieGraphQlController.class)
+@Import(GraphQlConfig.class)
+class MovieGraphQlControllerTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    @MockitoBean
+    private MovieVoteService movieVoteService;
+
+    @MockitoBean
+    private SeatHoldService seatHoldService;
+
+    @MockitoBean
+    private SimilarMovieService similarMovieService;
+
+    private MovieResponse inception;
+    private MovieResponse tenet;
+
+    @BeforeEach
+    void setUp() {
+        inception = MovieResponse.builder().id(1L).title("Inception").releaseDate(LocalDate.of(2010, 7, 16))
+                .genre("Sci-Fi").genres(List.of("Sci-Fi", "Thriller")).rating(8.8).build();
+        tenet = MovieResponse.builder().id(2L).title("Tenet").releaseDate(LocalDate.of(2020, 8, 26))
+                .genre("Sci-Fi").genres(List.of("Sci-Fi")).rating(7.3).build();
+    }
+
+    @Test
+    void movies_shouldLoadVotesAndShowtimesForAllMoviesInOneBatchEach() {
+        when(movieService.getAllMovies()).thenReturn(List.of(inception, tenet));
+        when(movieVoteService.getVotes(List.of(1L, 2L))).thenReturn(Map.of(
+                1L, new VoteSummary(1L, 2, 9.0),
+                2L, new VoteSummary(2L, 0, null)));
+        when(seatHoldService.getShowtimesForMovies(List.of(1L, 2L))).thenReturn(Map.of(
+                1L, List.of(showtime(10L, 1L, "Hall 1"), showtime(11L, 1L, "Hall 2"))));
+
+        graphQlTester.document("{ movies { title votes { voteCount averageScore } showtimes { auditorium } } }")
+                .execute()
+                .path("movies[*].title").entityList(String.class).containsExactly("Inception", "Tenet")
+                .path("movies[0].votes.averageScore").entity(Double.class).isEqualTo(9.0)
+                .path("movies[1].votes.voteCount").entity(Integer.class).isEqualTo(0)
+                .path("movies[0].showtimes[*].auditorium").entityList(String.class).containsExactly("Hall 1", "Hall 2")
+                .path("movies[1].showtimes").entityList(Object.class).hasSize(0);
+
+        verify(movieVoteService, times(1)).getVotes(anyCollection());
+        verify(seatHoldService, times(1)).getShowtimesForMovies(anyCollection());
+    }
+
+    @Test
+    void movies_shouldFilterByGenresAndYearTogether() {
+        when(movieService.getMoviesByReleaseYear(2010)).thenReturn(List.of(inception));
+
+        graphQlTester.document("{ movies(genres: [\"Thriller\"], year: 2010) { title } }")
+                .execute()
+                .path("movies[*].title").entityList(String.class).containsExactly("Inception");
+    }
+
+    @Test
+    void showtimeMovie_shouldLoadEachMovieOnce() {
+        when(movieService.getMovieById(1L)).thenReturn(inception);
+        when(movieService.getMoviesByIds(List.of(1L))).thenReturn(List.of(inception));
+        when(seatHoldService.getShowtimesForMovies(List.of(1L))).thenReturn(Map.of(
+                1L, List.of(showtime(10L, 1L, "Hall 1"), showtime(11L, 1L, "Hall 2"))));
+
+        graphQlTester.document("{ movie(id: 1) { showtimes { movie { title } } } }")
+                .execute()
+                .path("movie.showtimes[*].movie.title").entityList(String.class)
+                .containsExactly("Inception", "Inception");
+
+        verify(movieService, times(1)).getMoviesByIds(anyCollection());
+    }
+
+    @Test
+    void genresAndYears_shouldBeFetchedInOneRequest() {
+        when(movieService.getDistinctGenres()).thenReturn(List.of("Sci-Fi", "Thriller"));
+        when(movieService.getDistinctYears()).thenReturn(List.of(2010, 2020));
+
+        graphQlTester.document("{ genres years }")
+                .execute()
+                .path("genres").entityList(String.class).containsExactly("Sci-Fi", "Thriller")
+                .path("years").entityList(Integer.class).containsExactly(2010, 2020);
+    }
+
+    @Test
+    void movie_shouldReturnNotFoundError_whenMovieDoesNotExist() {
+        when(movieService.getMovieById(99L)).thenThrow(new MovieNotFoundException("Movie not found with id: 99"));
+
+        graphQlTester.document("{ movie(id: 99) { title } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement().satisfies(error -> {
+                    assertThat(error.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+                    assertThat(error.getMessage()).isEqualTo("Movie not found with id: 99");
+                }))
+                .path("movie").valueIsNull();
+    }
+
+    @Test
+    void query_shouldBeRejected_whenTooDeep() {
+        graphQlTester.document("""
+                        { movies { similar(first: 1) { similar(first: 1) { similar(first: 1) {
+                            similar(first: 1) { similar(first: 1) { title } } } } } } }""")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement().extracting(ResponseError::getMessage)
+                        .asString().contains("maximum query depth exceeded"));
+
+        verifyNoInteractions(movieService, similarMovieService);
+    }
+
+    @Test
+    void query_shouldBeRejected_whenTooComplex() {
+        graphQlTester.document("{ movies { similar(first: 50) { similar(first: 50) { title } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement().extracting(ResponseError::getMessage)
+                        .asString().contains("maximum query complexity exceeded"));
+
+        verifyNoInteractions(movieService, similarMovieService);
+    }
+
+    private ShowtimeResponse showtime(Long id, Long movieId, String auditorium) {
+        return ShowtimeResponse.builder()
+                .id(id)
+                .movieId(movieId)
+                .startsAt(Instant.parse("2026-11-01T19:30:00Z"))
+                .auditorium(auditorium)
+                .seatRows(10)
+                .seatsPerRow(12)
+                .availableSeats(120)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.showscape.movieservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.showscape.movieservice.dto.SeatHoldRequest;
+import com.showscape.movieservice.dto.SeatHoldResponse;
+import com.showscape.movieservice.dto.SeatMapResponse;
+import com.showscape.movieservice.dto.ShowtimeRequest;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.repository.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class ShowtimeControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private Long movieId;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port + "/api/showtimes";
+    }
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        movieId = movieRepository.save(Movie.builder()
+                .title("Inception")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .build()).getId();
+    }
+
+    private ShowtimeResponse createShowtime() {
+        ShowtimeRequest showtimeRequest = ShowtimeRequest.builder()
+                .movieId(movieId)
+                .startsAt(Instant.now().plus(Duration.ofDays(1)))
+                .auditorium("Screen 1")
+                .seatRows(10)
+                .seatsPerRow(12)
+                .build();
+        return restTemplate.postForEntity(getBaseUrl(), showtimeRequest, ShowtimeResponse.class).getBody();
+    }
+
+    @Test
+    void createShowtime_shouldStartWithEverySeatFree() {
+        ShowtimeResponse showtime = createShowtime();
+
+        assertThat(showtime.id()).isNotNull();
+        assertThat(showtime.availableSeats()).isEqualTo(120);
+
+        ResponseEntity<ShowtimeResponse[]> response =
+                restTemplate.getForEntity(getBaseUrl() + "?movieId=" + movieId, ShowtimeResponse[].class);
+        assertThat(response.getBody()).extracting(ShowtimeResponse::id).containsExactly(showtime.id());
+    }
+
+    @Test
+    void holdAndConfirm_shouldSellSeats_andRejectTheSameSeatsAfterwards() {
+        Long showtimeId = createShowtime().id();
+
+        ResponseEntity<SeatHoldResponse> held = restTemplate.postForEntity(getBaseUrl() + "/" + showtimeId + "/holds",
+                new SeatHoldRequest(List.of(10, 11)), SeatHoldResponse.class);
+        assertThat(held.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<SeatHoldResponse> competing = restTemplate.postForEntity(
+                getBaseUrl() + "/" + showtimeId + "/holds", new SeatHoldRequest(List.of(11, 12)), SeatHoldResponse.class);
+        assertThat(competing.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        ResponseEntity<SeatHoldResponse> confirmed = restTemplate.postForEntity(
+                getBaseUrl() + "/" + showtimeId + "/holds/" + held.getBody().holdId() + "/confirm", null,
+                SeatHoldResponse.class);
+        assertThat(confirmed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(confirmed.getBody().confirmed()).isTrue();
+
+        SeatMapResponse seatMap =
+                restTemplate.getForObject(getBaseUrl() + "/" + showtimeId + "/seats", SeatMapResponse.class);
+        assertThat(seatMap.takenSeats()).containsExactly(10, 11);
+        assertThat(showtimeRepository.findById(showtimeId).orElseThrow().getSoldSeats()[0])
+                .isEqualTo((1L << 10) | (1L << 11));
+    }
+
+    @Test
+    void releaseHold_shouldFreeSeats() {
+        Long showtimeId = createShowtime().id();
+        SeatHoldResponse held = restTemplate.postForObject(getBaseUrl() + "/" + showtimeId + "/holds",
+                new SeatHoldRequest(List.of(0)), SeatHoldResponse.class);
+
+        ResponseEntity<Void> released = restTemplate.exchange(
+                getBaseUrl() + "/" + showtimeId + "/holds/" + held.holdId(), HttpMethod.DELETE, null, Void.class);
+
+        assertThat(released.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(restTemplate.getForObject(getBaseUrl() + "/" + showtimeId, ShowtimeResponse.class).availableSeats())
+                .isEqualTo(120);
+    }
+
+    @Test
+    void holdSeats_shouldReturnBadRequest_forSeatOutsideTheShowtime() {
+        Long showtimeId = createShowtime().id();
+
+        ResponseEntity<String> response = restTemplate.postForEntity(getBaseUrl() + "/" + showtimeId + "/holds",
+                new SeatHoldRequest(List.of(120)), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void deleteMovies_shouldDeleteTheirShowtimes_andStopHoldingTheirSeats() {
+        Long showtimeId = createShowtime().id();
+        restTemplate.postForObject(getBaseUrl() + "/" + showtimeId + "/holds", new SeatHoldRequest(List.of(0)),
+                SeatHoldResponse.class);
+
+        restTemplate.exchange("http://localhost:" + port + "/api/movies/bulk?ids=" + movieId, HttpMethod.DELETE, null,
+                String.class);
+
+        assertThat(showtimeRepository.findById(showtimeId)).isEmpty();
+        ResponseEntity<String> held = restTemplate.postForEntity(getBaseUrl() + "/" + showtimeId + "/holds",
+                new SeatHoldRequest(List.of(1)), String.class);
+        assertThat(held.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void getShowtime_shouldReturnNotFound_forUnknownShowtime() {
+        ResponseEntity<String> response = restTemplate.getForEntity(getBaseUrl() + "/999999", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -3,6 +3,7 @@ package com.showscape.movieservice.entity;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +16,7 @@ class MovieTest {
                 .title("Inception")
                 .description("A dream within a dream.")
                 .releaseDate(LocalDate.of(2010, 7, 16))
-                .genre("Sci-Fi")
+                .genres(List.of(new Genre((short) 1, "Sci-Fi"), new Genre((short) 2, "Thriller")))
                 .rating(8.8)
                 .build();
 
@@ -24,7 +25,8 @@ class MovieTest {
         assertEquals("Inception", movie.getTitle());
         assertEquals("A dream within a dream.", movie.getDescription());
         assertEquals(LocalDate.of(2010, 7, 16), movie.getReleaseDate());
-        assertEquals("Sci-Fi", movie.getGenre());
+        assertEquals("Sci-Fi", movie.getPrimaryGenre());
+        assertEquals(List.of("Sci-Fi", "Thriller"), movie.getGenreNames());
         assertEquals(8.8, movie.getRating());
     }
 
@@ -32,16 +34,28 @@ class MovieTest {
     void testNoArgsConstructor() {
         Movie movie = new Movie();
         assertNotNull(movie);
+        assertNull(movie.getPrimaryGenre());
     }
 
     @Test
     void testAllArgsConstructor() {
-        Movie movie = new Movie(2L, "Interstellar", "Space travel.", LocalDate.of(2014, 11, 7), "Sci-Fi", 8.6);
+        Movie movie = new Movie(2L, "Interstellar", "Space travel.", LocalDate.of(2014, 11, 7),
+                List.of(new Genre((short) 1, "Sci-Fi")), 8.6, null, null);
         assertNotNull(movie);
         assertEquals(2L, movie.getId());
         assertEquals("Interstellar", movie.getTitle());
     }
 
+    @Test
+    void naturalKeyHash_shouldIgnoreCaseAndWhitespaceOfTitle() {
+        LocalDate releaseDate = LocalDate.of(1999, 3, 31);
+
+        assertEquals(Movie.naturalKeyHash("The Matrix", releaseDate),
+                Movie.naturalKeyHash("  the   MATRIX ", releaseDate));
+        assertNotEquals(Movie.naturalKeyHash("The Matrix", releaseDate),
+                Movie.naturalKeyHash("The Matrix", LocalDate.of(2021, 12, 22)));
+    }
+
     @Test
     void testSetters() {
         Movie movie = new Movie();
@@ -0,0 +1,70 @@
+package com.showscape.movieservice.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void tryAcquire_shouldRejectRequestsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        limiter.release(BASELINE_RTT, true);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_shouldGrowLimit_whileLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0);
+
+        runSaturated(limiter, BASELINE_RTT, 50);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void release_shouldShrinkLimit_whenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 2.0);
+        runSaturated(limiter, BASELINE_RTT, 20);
+        int limitBeforeSlowdown = limiter.getLimit();
+
+        runSaturated(limiter, BASELINE_RTT * 10, 5);
+
+        assertThat(limiter.getLimit()).isLessThan(limitBeforeSlowdown);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void release_shouldNotMoveLimit_whenBudgetIsBarelyUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(BASELINE_RTT * 10, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.showscape.movieservice.protobuf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.showscape.movieservice.dto.MovieRequest;
+import com.showscape.movieservice.dto.MovieResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+class MovieProtobufCodecTest {
+
+    private final MovieResponse inception = MovieResponse.builder()
+            .id(1L)
+            .title("Inception")
+            .description("A dream within a dream.")
+            .releaseDate(LocalDate.of(2010, 7, 16))
+            .genre("Sci-Fi")
+            .rating(8.8)
+            .build();
+
+    @Test
+    void movieList_shouldRoundTrip() throws IOException {
+        MovieResponse sparse = MovieResponse.builder().id(2L).title("The Matrix").build();
+        MovieResponse silent = MovieResponse.builder().id(3L).title("Metropolis").releaseDate(LocalDate.of(1927, 1, 10))
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        MovieProtobufCodec.writeMovieList(List.of(inception, sparse, silent), out);
+        out.flush();
+
+        assertThat(MovieProtobufCodec.readMovieList(CodedInputStream.newInstance(bytes.toByteArray())))
+                .containsExactly(inception, sparse, silent);
+    }
+
+    @Test
+    void movieRequest_shouldRoundTrip() throws IOException {
+        MovieRequest request = MovieRequest.builder()
+                .title("Inception")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .genre("Sci-Fi")
+                .rating(8.8)
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        MovieProtobufCodec.writeMovieRequest(request, out);
+        out.flush();
+
+        assertThat(MovieProtobufCodec.readMovieRequest(CodedInputStream.newInstance(bytes.toByteArray())))
+                .isEqualTo(request);
+    }
+
+    @Test
+    void readMovie_shouldSkipUnknownFields() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        out.writeString(99, "added in a later schema");
+        MovieProtobufCodec.writeMovie(inception, out);
+        out.flush();
+
+        assertThat(MovieProtobufCodec.readMovie(CodedInputStream.newInstance(bytes.toByteArray())))
+                .isEqualTo(inception);
+    }
+}
@@ -0,0 +1,163 @@
+package com.showscape.movieservice.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.showscape.movieservice.dto.MovieResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+@SpringBootTest(classes = ReactiveReadConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "showscape.reactive.fetch-size=2"})
+@ActiveProfiles("reactive")
+@Testcontainers
+class ReactiveMovieReadIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+                postgres.getHost(), postgres.getFirstMappedPort(), postgres.getDatabaseName()));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/partitioned-schema.sql"))
+                .populate(connectionFactory).block();
+        databaseClient.sql("TRUNCATE movies, movie_genres, genres RESTART IDENTITY").then().block();
+        databaseClient.sql("INSERT INTO genres (name) VALUES ('Sci-Fi'), ('Thriller'), ('Drama')").then().block();
+        databaseClient.sql("""
+                INSERT INTO movies (title, description, release_date, rating) VALUES
+                    ('Inception', 'Dreams within dreams', '2010-07-16', 8.8),
+                    ('Parasite', 'A family schemes its way in', '2019-05-30', 8.5),
+                    ('Tenet', 'Time runs backwards', '2020-08-26', 7.3)""").then().block();
+        databaseClient.sql("""
+                INSERT INTO movie_genres (movie_id, genre_id, position) VALUES
+                    (1, 1, 0), (1, 2, 1), (2, 2, 0), (2, 3, 1), (3, 1, 0)""").then().block();
+    }
+
+    @Test
+    void server_shouldBeNetty_evenThoughTomcatIsOnTheClasspath() {
+        assertThat(applicationContext.getWebServer()).isInstanceOf(NettyWebServer.class);
+    }
+
+    @Test
+    void getMovieById_shouldReturnMovieWithGenresInOrder() {
+        webTestClient.get().uri("/api/movies/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Inception")
+                .jsonPath("$.releaseDate").isEqualTo("2010-07-16")
+                .jsonPath("$.genres[0]").isEqualTo("Sci-Fi")
+                .jsonPath("$.genres[1]").isEqualTo("Thriller");
+    }
+
+    @Test
+    void getMovieById_shouldReturnNotFound_whenMovieDoesNotExist() {
+        webTestClient.get().uri("/api/movies/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Movie not found with id: 99");
+    }
+
+    @Test
+    void getMovieById_shouldReturnBadRequest_whenIdIsNotANumber() {
+        webTestClient.get().uri("/api/movies/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllMovies_shouldStreamEveryMovieAcrossFetches() {
+        List<MovieResponse> movies = webTestClient.get().uri("/api/movies")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MovieResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(movies).extracting(MovieResponse::title).containsExactly("Inception", "Parasite", "Tenet");
+    }
+
+    @Test
+    void getAllMovies_shouldStreamNdjson_whenRequested() {
+        List<MovieResponse> movies = webTestClient.get().uri("/api/movies")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(MovieResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(movies).hasSize(3);
+    }
+
+    @Test
+    void getMoviesByGenre_shouldReturnMatchingMovies() {
+        webTestClient.get().uri("/api/movies/genre/Sci-Fi")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MovieResponse.class)
+                .value(movies -> assertThat(movies).extracting(MovieResponse::title)
+                        .containsExactly("Inception", "Tenet"));
+    }
+
+    @Test
+    void getMoviesByReleaseYear_shouldReturnMoviesFromThatYear() {
+        webTestClient.get().uri("/api/movies/year/2019")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MovieResponse.class)
+                .value(movies -> assertThat(movies).extracting(MovieResponse::title).containsExactly("Parasite"));
+    }
+
+    @Test
+    void getDistinctGenresAndYears_shouldReturnSortedValues() {
+        webTestClient.get().uri("/api/movies/genres")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(String.class).isEqualTo(List.of("Drama", "Sci-Fi", "Thriller"));
+
+        webTestClient.get().uri("/api/movies/years")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Integer.class).isEqualTo(List.of(2010, 2019, 2020));
+    }
+}
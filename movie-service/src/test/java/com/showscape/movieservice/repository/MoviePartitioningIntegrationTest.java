@@ -0,0 +1,105 @@
+package com.showscape.movieservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.service.GenreDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("partitioned")
+@Testcontainers
+class MoviePartitioningIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MoviePartitionManager moviePartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GenreDictionary genreDictionary;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        movieRepository.save(Movie.builder().title("Parasite").releaseDate(LocalDate.of(2019, 5, 30)).genres(genres("Thriller")).rating(8.5).build());
+        movieRepository.save(Movie.builder().title("Tenet").releaseDate(LocalDate.of(2020, 8, 26)).genres(genres("Sci-Fi")).rating(7.3).build());
+        moviePartitionManager.ensurePartitions();
+    }
+
+    @Test
+    void ensurePartitions_shouldMoveRowsOutOfDefaultPartition() {
+        assertThat(count(MoviePartitionManager.DEFAULT_PARTITION)).isZero();
+        assertThat(count(moviePartitionManager.partitionName(2019))).isEqualTo(1);
+        assertThat(count(moviePartitionManager.partitionName(2020))).isEqualTo(1);
+        assertThat(count(moviePartitionManager.partitionName(LocalDate.now().getYear() + 1))).isZero();
+    }
+
+    @Test
+    void findByReleaseYear_shouldScanOnlyThatYearsPartition() {
+        assertThat(movieRepository.findByReleaseYear(2020)).extracting(Movie::getTitle).containsExactly("Tenet");
+
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM movies WHERE release_date BETWEEN ? AND ?", String.class,
+                LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+
+        assertThat(String.join("\n", plan))
+                .contains(moviePartitionManager.partitionName(2020))
+                .doesNotContain(moviePartitionManager.partitionName(2019))
+                .doesNotContain(MoviePartitionManager.DEFAULT_PARTITION);
+    }
+
+    @Test
+    void save_shouldMoveRowBetweenPartitions_whenReleaseDateChanges() {
+        Movie movie = movieRepository.findByReleaseYear(2019).get(0);
+        movie.setReleaseDate(LocalDate.of(2020, 2, 9));
+        movieRepository.save(movie);
+
+        assertThat(count(moviePartitionManager.partitionName(2019))).isZero();
+        assertThat(movieRepository.findByReleaseYear(2020)).hasSize(2);
+    }
+
+    @Test
+    void findByGenreId_shouldJoinGenresOfPartitionedMovies() {
+        short thriller = genreDictionary.idOf("Thriller").orElseThrow();
+
+        assertThat(movieRepository.findByGenreId(thriller)).extracting(Movie::getTitle).containsExactly("Parasite");
+    }
+
+    private List<Genre> genres(String... names) {
+        return new ArrayList<>(genreDictionary.resolve(List.of(names)));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
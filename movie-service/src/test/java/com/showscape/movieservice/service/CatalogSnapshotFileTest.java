@@ -0,0 +1,89 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogSnapshot.of(List.of(
+                Movie.builder().id(1L).title("Inception").description("A dream within a dream.")
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .genres(List.of(new Genre(null, "Sci-Fi"), new Genre(null, "Thriller"))).rating(8.8)
+                        .updatedAt(Instant.ofEpochMilli(1_000)).build(),
+                Movie.builder().id(2L).title("Untitled").updatedAt(Instant.ofEpochMilli(2_000)).build()
+        ), System.nanoTime());
+    }
+
+    @Test
+    void write_thenRead_shouldRestoreSnapshot() throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+
+        CatalogSnapshotFile.write(snapshot, file);
+        CatalogSnapshot restored = CatalogSnapshotFile.read(file, System.nanoTime());
+
+        assertThat(restored.findAll()).isEqualTo(snapshot.findAll());
+        assertThat(restored.distinctGenres()).containsExactly("Sci-Fi", "Thriller");
+        assertThat(restored.highWaterMarkMillis()).isEqualTo(2_000);
+    }
+
+    @Test
+    void read_shouldFail_whenFileIsCorrupted() throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(snapshot, file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(30);
+            raw.write(raw.read() ^ 0xFF);
+        }
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file, System.nanoTime()));
+    }
+
+    @Test
+    void read_shouldFail_whenFileIsTruncated() throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(snapshot, file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.setLength(6);
+        }
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(file, System.nanoTime()));
+    }
+
+    @Test
+    void withChanges_shouldApplyCatchUpAndDropDeletedRows() {
+        Movie updated = Movie.builder().id(1L).title("Inception").genres(List.of(new Genre(null, "Thriller")))
+                .rating(9.0)
+                .updatedAt(Instant.ofEpochMilli(5_000)).build();
+        Movie created = Movie.builder().id(3L).title("Tenet").genres(List.of(new Genre(null, "Sci-Fi"))).rating(7.3)
+                .updatedAt(Instant.ofEpochMilli(6_000)).build();
+
+        CatalogSnapshot caughtUp = snapshot.withChanges(List.of(updated, created), new long[] {1L, 3L});
+
+        assertThat(caughtUp.findById(1L).orElseThrow().genre()).isEqualTo("Thriller");
+        assertThat(caughtUp.findById(2L)).isEmpty();
+        assertThat(caughtUp.findById(3L)).isPresent();
+        assertThat(caughtUp.highWaterMarkMillis()).isEqualTo(6_000);
+    }
+}
@@ -0,0 +1,119 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.showscape.movieservice.dto.GenreFacet;
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogSnapshot.of(List.of(
+                movie(3L, "Interstellar", LocalDate.of(2014, 11, 7), "Sci-Fi", 8.6),
+                movie(1L, "Inception", LocalDate.of(2010, 7, 16), "Sci-Fi", 8.8),
+                movie(2L, "The Dark Knight", LocalDate.of(2008, 7, 18), "Action", 9.0, "Crime", "Drama")
+        ), System.nanoTime());
+    }
+
+    @Test
+    void findAll_shouldReturnMoviesOrderedById() {
+        assertThat(snapshot.findAll()).extracting(MovieResponse::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void findById_shouldReturnAllColumns() {
+        MovieResponse response = snapshot.findById(1L).orElseThrow();
+
+        assertThat(response.title()).isEqualTo("Inception");
+        assertThat(response.releaseDate()).isEqualTo(LocalDate.of(2010, 7, 16));
+        assertThat(response.genre()).isEqualTo("Sci-Fi");
+        assertThat(response.genres()).containsExactly("Sci-Fi");
+        assertThat(response.rating()).isEqualTo(8.8);
+    }
+
+    @Test
+    void findById_shouldReturnEmpty_whenMovieIsMissing() {
+        assertThat(snapshot.findById(42L)).isEmpty();
+    }
+
+    @Test
+    void findByGenreAndYear_shouldFilterRows() {
+        assertThat(snapshot.findByGenre("Sci-Fi")).extracting(MovieResponse::id).containsExactly(1L, 3L);
+        assertThat(snapshot.findByGenre("Horror")).isEmpty();
+        assertThat(snapshot.findByReleaseYear(2008)).extracting(MovieResponse::id).containsExactly(2L);
+    }
+
+    @Test
+    void findByGenre_shouldMatchSecondaryGenres() {
+        assertThat(snapshot.findByGenre("Drama")).extracting(MovieResponse::id).containsExactly(2L);
+        assertThat(snapshot.findById(2L).orElseThrow().genres()).containsExactly("Action", "Crime", "Drama");
+        assertThat(snapshot.findById(2L).orElseThrow().genre()).isEqualTo("Action");
+    }
+
+    @Test
+    void findByAllGenres_shouldRequireEveryGenre() {
+        assertThat(snapshot.findByAllGenres(List.of("Action", "Drama"))).extracting(MovieResponse::id)
+                .containsExactly(2L);
+        assertThat(snapshot.findByAllGenres(List.of("Action", "Sci-Fi"))).isEmpty();
+        assertThat(snapshot.findByAllGenres(List.of("Action", "Horror"))).isEmpty();
+    }
+
+    @Test
+    void genreFacets_shouldCountMoviesPerGenre() {
+        assertThat(snapshot.genreFacets(List.of())).containsExactly(
+                new GenreFacet("Sci-Fi", 2), new GenreFacet("Action", 1), new GenreFacet("Crime", 1),
+                new GenreFacet("Drama", 1));
+        assertThat(snapshot.genreFacets(List.of("Crime"))).containsExactly(
+                new GenreFacet("Action", 1), new GenreFacet("Crime", 1), new GenreFacet("Drama", 1));
+    }
+
+    @Test
+    void distinctValues_shouldBeSorted() {
+        assertThat(snapshot.distinctGenres()).containsExactly("Action", "Crime", "Drama", "Sci-Fi");
+        assertThat(snapshot.distinctYears()).containsExactly(2008, 2010, 2014);
+    }
+
+    @Test
+    void withUpsert_shouldInsertAndReplaceWithoutChangingOriginal() {
+        CatalogSnapshot updated = snapshot
+                .withUpsert(movie(4L, "Heat", LocalDate.of(1995, 12, 15), "Crime", 8.3))
+                .withUpsert(movie(1L, "Inception (Remastered)", LocalDate.of(2010, 7, 16), "Sci-Fi", 8.9));
+
+        assertThat(updated.size()).isEqualTo(4);
+        assertThat(updated.findById(1L).orElseThrow().title()).isEqualTo("Inception (Remastered)");
+        assertThat(updated.findByGenre("Crime")).extracting(MovieResponse::id).containsExactly(4L);
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.findById(1L).orElseThrow().title()).isEqualTo("Inception");
+    }
+
+    @Test
+    void withDelete_shouldRemoveRowAndDerivedValues() {
+        CatalogSnapshot updated = snapshot.withDelete(2L);
+
+        assertThat(updated.findById(2L)).isEmpty();
+        assertThat(updated.distinctGenres()).containsExactly("Sci-Fi");
+        assertThat(updated.distinctYears()).containsExactly(2010, 2014);
+        assertThat(updated.withDelete(42L)).isSameAs(updated);
+    }
+
+    private Movie movie(Long id, String title, LocalDate releaseDate, String genre, Double rating,
+                        String... moreGenres) {
+        List<Genre> genres = new ArrayList<>();
+        genres.add(new Genre(null, genre));
+        for (String name : moreGenres) {
+            genres.add(new Genre(null, name));
+        }
+        return Movie.builder().id(id).title(title).releaseDate(releaseDate).genres(genres).rating(rating).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.showscape.movieservice.config.IdempotencyProperties;
+import com.showscape.movieservice.dto.MovieRequest;
+import com.showscape.movieservice.entity.IdempotencyRecord;
+import com.showscape.movieservice.exception.IdempotencyKeyReuseException;
+import com.showscape.movieservice.exception.InvalidIdempotencyKeyException;
+import com.showscape.movieservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyKeyStore store;
+
+    private final MovieRequest request = MovieRequest.builder()
+            .title("Inception")
+            .releaseDate(LocalDate.of(2010, 7, 16))
+            .genre("Sci-Fi")
+            .rating(8.8)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyKeyStore(repository, new IdempotencyProperties(Duration.ofHours(24), Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void claim_shouldReturnEmpty_whenKeyIsNew() {
+        when(repository.claim(eq("key-1"), anyLong(), any(Instant.class), any(Instant.class))).thenReturn(1);
+
+        assertThat(store.claim("key-1", request)).isEmpty();
+    }
+
+    @Test
+    void claim_shouldReturnCreatedMovie_whenSameRequestUsedKey() {
+        when(repository.claim(eq("key-1"), anyLong(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(repository.findById("key-1")).thenReturn(Optional.of(new IdempotencyRecord(
+                "key-1", IdempotencyKeyStore.requestHash(request), 7L, Instant.now().plusSeconds(60))));
+
+        assertThat(store.claim("key-1", request)).contains(7L);
+    }
+
+    @Test
+    void claim_shouldRejectKey_whenDifferentRequestUsedIt() {
+        MovieRequest otherRequest = MovieRequest.builder()
+                .title("Interstellar")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .genre("Sci-Fi")
+                .rating(8.6)
+                .build();
+        when(repository.claim(eq("key-1"), anyLong(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(repository.findById("key-1")).thenReturn(Optional.of(new IdempotencyRecord(
+                "key-1", IdempotencyKeyStore.requestHash(otherRequest), 7L, Instant.now().plusSeconds(60))));
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> store.claim("key-1", request));
+    }
+
+    @Test
+    void claim_shouldRejectBlankAndOverlongKeys() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> store.claim(" ", request));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> store.claim("k".repeat(IdempotencyKeyStore.MAX_KEY_LENGTH + 1), request));
+    }
+}
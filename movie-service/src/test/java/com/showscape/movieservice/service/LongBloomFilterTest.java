@@ -0,0 +1,45 @@
+package com.showscape.movieservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBloomFilterTest {
+
+    @Test
+    void mightContain_shouldBeTrueForEveryPutValue() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(filter.mightContain(id)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_shouldRarelyBeTrueForAbsentValues() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        long falsePositives = 0;
+        for (long id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void mightContain_shouldBeFalse_whenEmpty() {
+        LongBloomFilter filter = new LongBloomFilter(0, 0.01);
+
+        assertThat(filter.mightContain(1L)).isFalse();
+        assertThat(filter.mightContain(-1L)).isFalse();
+    }
+}
@@ -0,0 +1,92 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.showscape.movieservice.config.MovieIdFilterProperties;
+import com.showscape.movieservice.config.ReadYourWritesContext;
+import com.showscape.movieservice.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class MovieIdFilterTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Test
+    void mightExist_shouldBeTrue_untilFirstRebuild() {
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(true));
+
+        assertThat(filter.mightExist(42L)).isTrue();
+    }
+
+    @Test
+    void mightExist_shouldRejectUnknownIds_afterRebuild() {
+        when(movieRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(true));
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist(2L)).isTrue();
+        assertThat(filter.mightExist(42L)).isFalse();
+    }
+
+    @Test
+    void movieSaved_shouldAddIdToBuiltFilter() {
+        when(movieRepository.findAllIds()).thenReturn(List.of(1L));
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(true));
+        filter.rebuild();
+
+        filter.movieSaved(42L);
+
+        assertThat(filter.mightExist(42L)).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldKeepIdsSavedWhileReadingTheTable() {
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(true));
+        when(movieRepository.findAllIds()).thenAnswer(invocation -> {
+            filter.movieSaved(42L);
+            return List.of(1L);
+        });
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist(42L)).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldReadIdsFromPrimary() {
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(true));
+        when(movieRepository.findAllIds()).thenAnswer(invocation -> {
+            assertThat(ReadYourWritesContext.isPinnedToPrimary()).isTrue();
+            return List.of(1L);
+        });
+
+        filter.rebuild();
+
+        assertThat(ReadYourWritesContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void mightExist_shouldAlwaysBeTrue_whenDisabled() {
+        MovieIdFilter filter = new MovieIdFilter(movieRepository, properties(false));
+
+        filter.rebuild();
+
+        assertThat(filter.mightExist(42L)).isTrue();
+        verifyNoInteractions(movieRepository);
+    }
+
+    private static MovieIdFilterProperties properties(boolean enabled) {
+        return new MovieIdFilterProperties(enabled, Duration.ofMinutes(1), 0.01);
+    }
+}
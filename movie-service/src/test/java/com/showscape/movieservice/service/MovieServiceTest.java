@@ -4,24 +4,44 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyShort;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.showscape.movieservice.cache.ResponseBodyCache;
+import com.showscape.movieservice.config.ReadCoalescingProperties;
+import com.showscape.movieservice.dto.BulkMovieFilter;
+import com.showscape.movieservice.dto.BulkMovieUpdate;
+import com.showscape.movieservice.dto.GenreFacet;
 import com.showscape.movieservice.dto.MovieRequest;
 import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Genre;
 import com.showscape.movieservice.entity.Movie;
+import com.showscape.movieservice.exception.InvalidBulkOperationException;
+import com.showscape.movieservice.exception.MovieAlreadyExistsException;
 import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.repository.GenreCount;
+import com.showscape.movieservice.repository.MovieFilter;
 import com.showscape.movieservice.repository.MovieRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Duration;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -32,20 +52,51 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Mock
+    private GenreDictionary genreDictionary;
+
+    @Mock
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @Mock
+    private MovieVoteService movieVoteService;
+
+    @Mock
+    private SimilarMovieService similarMovieService;
+
+    @Mock
+    private MovieIdFilter movieIdFilter;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Spy
+    private RequestCoalescer requestCoalescer =
+            new RequestCoalescer(new SimpleMeterRegistry(), new ReadCoalescingProperties(Duration.ofSeconds(1)));
+
     @InjectMocks
     private MovieService movieService;
 
+    private final Genre sciFi = new Genre((short) 1, "Sci-Fi");
+
     private Movie movie;
     private MovieRequest movieRequest;
 
     @BeforeEach
     void setUp() {
+        lenient().when(movieIdFilter.mightExist(anyLong())).thenReturn(true);
         movie = Movie.builder()
                 .id(1L)
                 .title("Inception")
                 .description("A dream within a dream.")
                 .releaseDate(LocalDate.of(2010, 7, 16))
-                .genre("Sci-Fi")
+                .genres(new ArrayList<>(List.of(sciFi)))
                 .rating(8.8)
                 .build();
 
@@ -60,13 +111,50 @@ class MovieServiceTest {
 
     @Test
     void createMovie_shouldReturnCreatedMovieResponse() {
-        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
+        when(genreDictionary.resolve(List.of("Sci-Fi"))).thenReturn(List.of(sciFi));
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenReturn(movie);
 
         MovieResponse response = movieService.createMovie(movieRequest);
 
         assertThat(response).isNotNull();
         assertThat(response.title()).isEqualTo("Inception");
-        verify(movieRepository).save(any(Movie.class));
+        assertThat(response.genres()).containsExactly("Sci-Fi");
+        verify(movieRepository).saveAndFlush(any(Movie.class));
+        verify(responseBodyCache).invalidate();
+    }
+
+    @Test
+    void createMovie_shouldThrowMovieAlreadyExistsException_whenNaturalKeyIsTaken() {
+        when(genreDictionary.resolve(List.of("Sci-Fi"))).thenReturn(List.of(sciFi));
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "movies_natural_key_hash_key")));
+
+        assertThrows(MovieAlreadyExistsException.class, () -> movieService.createMovie(movieRequest));
+        verify(responseBodyCache, times(0)).invalidate();
+    }
+
+    @Test
+    void createMovie_shouldReturnEarlierMovie_whenIdempotencyKeyWasUsed() {
+        when(idempotencyKeyStore.claim("key-1", movieRequest)).thenReturn(Optional.of(1L));
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+
+        MovieCreation creation = movieService.createMovie(movieRequest, "key-1");
+
+        assertThat(creation.replayed()).isTrue();
+        assertThat(creation.movie().id()).isEqualTo(1L);
+        verify(movieRepository, times(0)).saveAndFlush(any(Movie.class));
+    }
+
+    @Test
+    void createMovie_shouldRecordCreatedMovie_whenIdempotencyKeyIsNew() {
+        when(idempotencyKeyStore.claim("key-1", movieRequest)).thenReturn(Optional.empty());
+        when(genreDictionary.resolve(List.of("Sci-Fi"))).thenReturn(List.of(sciFi));
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenReturn(movie);
+
+        MovieCreation creation = movieService.createMovie(movieRequest, "key-1");
+
+        assertThat(creation.replayed()).isFalse();
+        verify(idempotencyKeyStore).complete("key-1", 1L);
     }
 
     @Test
@@ -88,6 +176,17 @@ class MovieServiceTest {
         verify(movieRepository).findById(1L);
     }
 
+    @Test
+    void getMovieById_shouldSkipDatabase_whenIdFilterRulesMovieOut() {
+        when(movieIdFilter.mightExist(99L)).thenReturn(false);
+
+        MovieNotFoundException exception =
+                assertThrows(MovieNotFoundException.class, () -> movieService.getMovieById(99L));
+
+        assertThat(exception.getMessage()).isEqualTo("Movie not found with id: 99");
+        verifyNoInteractions(movieRepository);
+    }
+
     @Test
     void getAllMovies_shouldReturnListOfMovieResponses() {
         when(movieRepository.findAll()).thenReturn(Arrays.asList(movie, movie));
@@ -101,14 +200,14 @@ class MovieServiceTest {
     @Test
     void updateMovie_shouldReturnUpdatedMovieResponse_whenMovieExists() {
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenReturn(movie);
 
         MovieResponse response = movieService.updateMovie(1L, movieRequest);
 
         assertThat(response).isNotNull();
         assertThat(response.title()).isEqualTo("Inception");
         verify(movieRepository).findById(1L);
-        verify(movieRepository).save(any(Movie.class));
+        verify(movieRepository).saveAndFlush(any(Movie.class));
     }
 
     @Test
@@ -117,7 +216,7 @@ class MovieServiceTest {
 
         assertThrows(MovieNotFoundException.class, () -> movieService.updateMovie(1L, movieRequest));
         verify(movieRepository).findById(1L);
-        verify(movieRepository, times(0)).save(any(Movie.class));
+        verify(movieRepository, times(0)).saveAndFlush(any(Movie.class));
     }
 
     @Test
@@ -129,6 +228,10 @@ class MovieServiceTest {
 
         verify(movieRepository).existsById(1L);
         verify(movieRepository).deleteById(1L);
+        verify(movieVoteService).movieDeleted(1L);
+        verify(similarMovieService).movieDeleted(1L);
+        verify(seatHoldService).movieDeleted(1L);
+        verify(responseBodyCache).invalidate();
     }
 
     @Test
@@ -142,13 +245,47 @@ class MovieServiceTest {
 
     @Test
     void getMoviesByGenre_shouldReturnListOfMovieResponses() {
-        when(movieRepository.findByGenre("Sci-Fi")).thenReturn(List.of(movie));
+        when(genreDictionary.idOf("Sci-Fi")).thenReturn(Optional.of((short) 1));
+        when(movieRepository.findByGenreId((short) 1)).thenReturn(List.of(movie));
 
         List<MovieResponse> responses = movieService.getMoviesByGenre("Sci-Fi");
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).genre()).isEqualTo("Sci-Fi");
-        verify(movieRepository).findByGenre("Sci-Fi");
+        verify(movieRepository).findByGenreId((short) 1);
+    }
+
+    @Test
+    void getMoviesByGenre_shouldSkipQuery_whenGenreIsUnknown() {
+        when(genreDictionary.idOf("Western")).thenReturn(Optional.empty());
+
+        assertThat(movieService.getMoviesByGenre("Western")).isEmpty();
+        verify(movieRepository, times(0)).findByGenreId(anyShort());
+    }
+
+    @Test
+    void getMoviesByGenres_shouldQueryBySortedGenreIds() {
+        when(genreDictionary.idsOf(List.of("Thriller", "Sci-Fi")))
+                .thenReturn(Optional.of(List.of((short) 4, (short) 1)));
+        when(movieRepository.findByAllGenreIds(List.of((short) 1, (short) 4), 2)).thenReturn(List.of(movie));
+
+        List<MovieResponse> responses = movieService.getMoviesByGenres(List.of("Thriller", "Sci-Fi"));
+
+        assertThat(responses).extracting(MovieResponse::id).containsExactly(1L);
+    }
+
+    @Test
+    void getGenreFacets_shouldTranslateIdsAndSortByCount() {
+        when(movieRepository.countMoviesByGenre()).thenReturn(List.of(
+                new GenreCount((short) 1, 2L), new GenreCount((short) 2, 5L), new GenreCount((short) 3, 2L)));
+        when(genreDictionary.nameOf((short) 1)).thenReturn("Sci-Fi");
+        when(genreDictionary.nameOf((short) 2)).thenReturn("Drama");
+        when(genreDictionary.nameOf((short) 3)).thenReturn("Action");
+
+        List<GenreFacet> facets = movieService.getGenreFacets(List.of());
+
+        assertThat(facets).containsExactly(
+                new GenreFacet("Drama", 5), new GenreFacet("Action", 2), new GenreFacet("Sci-Fi", 2));
     }
 
     @Test
@@ -162,6 +299,46 @@ class MovieServiceTest {
         verify(movieRepository).findByReleaseYear(2010);
     }
 
+    @Test
+    void getMovieById_shouldUseSnapshot_whenSnapshotIsFresh() {
+        when(catalogSnapshotService.current()).thenReturn(Optional.of(CatalogSnapshot.of(List.of(movie), System.nanoTime())));
+
+        MovieResponse response = movieService.getMovieById(1L);
+
+        assertThat(response.title()).isEqualTo("Inception");
+        verify(movieRepository, times(0)).findById(anyLong());
+    }
+
+    @Test
+    void getMoviesByIds_shouldLoadAllMoviesInOneQuery() {
+        when(movieRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(movie));
+
+        List<MovieResponse> responses = movieService.getMoviesByIds(List.of(1L, 2L));
+
+        assertThat(responses).extracting(MovieResponse::id).containsExactly(1L);
+    }
+
+    @Test
+    void getMoviesByIds_shouldUseSnapshot_whenSnapshotIsFresh() {
+        when(catalogSnapshotService.current()).thenReturn(Optional.of(CatalogSnapshot.of(List.of(movie), System.nanoTime())));
+
+        List<MovieResponse> responses = movieService.getMoviesByIds(List.of(1L, 2L, 1L));
+
+        assertThat(responses).extracting(MovieResponse::title).containsExactly("Inception");
+        verify(movieRepository, times(0)).findAllById(any());
+    }
+
+    @Test
+    void updateMovie_shouldApplyChangeToSnapshot() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenReturn(movie);
+
+        movieService.updateMovie(1L, movieRequest);
+
+        verify(catalogSnapshotService).movieSaved(movie);
+        verify(similarMovieService).movieSaved(movie);
+    }
+
     @Test
     void getDistinctGenres_shouldReturnDistinctGenres() {
         List<String> genres = Arrays.asList("Action", "Comedy", "Drama");
@@ -183,4 +360,59 @@ class MovieServiceTest {
         assertThat(result).isEqualTo(years);
         verify(movieRepository).findDistinctReleaseYears();
     }
+
+    @Test
+    void updateMovies_shouldUpdateMatchingMoviesInBulk_andRefreshCaches() {
+        Genre drama = new Genre((short) 2, "Drama");
+        when(genreDictionary.idOf("Sci-Fi")).thenReturn(Optional.of((short) 1));
+        when(genreDictionary.resolve(List.of("Drama"))).thenReturn(List.of(drama));
+        MovieFilter expectedFilter = new MovieFilter(null, (short) 1, LocalDate.of(2000, 1, 1), LocalDate.of(2010, 12, 31));
+        when(movieRepository.updateMatching(expectedFilter, 7.5, List.of((short) 2))).thenReturn(List.of(1L));
+        when(movieRepository.findAllById(List.of(1L))).thenReturn(List.of(movie));
+
+        int updated = movieService.updateMovies(new BulkMovieFilter(null, "Sci-Fi", 2000, 2010),
+                new BulkMovieUpdate(List.of("Drama"), 7.5));
+
+        assertThat(updated).isEqualTo(1);
+        verify(catalogSnapshotService).moviesUpdated(List.of(movie));
+        verify(similarMovieService).moviesUpdated(List.of(movie));
+        verify(responseBodyCache).invalidate();
+    }
+
+    @Test
+    void updateMovies_shouldMatchNothing_whenGenreDoesNotExist() {
+        when(genreDictionary.idOf("Western")).thenReturn(Optional.empty());
+
+        int updated = movieService.updateMovies(new BulkMovieFilter(null, "Western", null, null),
+                new BulkMovieUpdate(null, 5.0));
+
+        assertThat(updated).isZero();
+        verify(movieRepository, times(0)).updateMatching(any(), any(), any());
+    }
+
+    @Test
+    void updateMovies_shouldThrowInvalidBulkOperationException_whenFilterOrChangesAreEmpty() {
+        assertThrows(InvalidBulkOperationException.class, () -> movieService.updateMovies(
+                new BulkMovieFilter(List.of(), null, null, null), new BulkMovieUpdate(null, 5.0)));
+        assertThrows(InvalidBulkOperationException.class, () -> movieService.updateMovies(
+                new BulkMovieFilter(List.of(1L), null, null, null), new BulkMovieUpdate(null, null)));
+        assertThrows(InvalidBulkOperationException.class, () -> movieService.updateMovies(
+                new BulkMovieFilter(null, null, 2010, 2000), new BulkMovieUpdate(null, 5.0)));
+    }
+
+    @Test
+    void deleteMovies_shouldDeleteMatchingMoviesInOneStatement_andForgetThem() {
+        when(movieRepository.deleteMatching(new MovieFilter(List.of(1L, 2L), null, null, null)))
+                .thenReturn(List.of(1L, 2L));
+
+        int deleted = movieService.deleteMovies(new BulkMovieFilter(List.of(1L, 2L), null, null, null));
+
+        assertThat(deleted).isEqualTo(2);
+        verify(movieRepository, times(0)).existsById(anyLong());
+        verify(movieVoteService).moviesDeleted(List.of(1L, 2L));
+        verify(catalogSnapshotService).moviesDeleted(List.of(1L, 2L));
+        verify(similarMovieService).moviesDeleted(List.of(1L, 2L));
+        verify(seatHoldService).moviesDeleted(List.of(1L, 2L));
+        verify(responseBodyCache).invalidate();
+    }
 }
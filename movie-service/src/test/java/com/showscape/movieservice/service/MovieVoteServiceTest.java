@@ -0,0 +1,202 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.showscape.movieservice.config.VoteProperties;
+import com.showscape.movieservice.dto.VoteSummary;
+import com.showscape.movieservice.entity.MovieVotes;
+import com.showscape.movieservice.exception.MovieNotFoundException;
+import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.repository.MovieVotesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@ExtendWith(MockitoExtension.class)
+class MovieVoteServiceTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private MovieVotesRepository movieVotesRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MovieVoteService movieVoteService;
+
+    @BeforeEach
+    void setUp() {
+        movieVoteService = new MovieVoteService(movieRepository, movieVotesRepository, jdbcTemplate,
+                transactionTemplate, new VoteProperties(Duration.ofSeconds(1), 500, Duration.ofDays(1)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void vote_shouldBeReadableImmediately_togetherWithFlushedTotals() {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.of(new MovieVotes(1L, 2, 16)));
+
+        VoteSummary summary = movieVoteService.vote(1L, 10);
+
+        assertThat(summary.voteCount()).isEqualTo(3);
+        assertThat(summary.averageScore()).isEqualTo(26.0 / 3);
+        assertThat(movieVoteService.getVotes(1L)).isEqualTo(summary);
+    }
+
+    @Test
+    void getVotes_shouldReadUnloadedTotalsInOneQuery_andIncludeVotesInMemory() {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.empty());
+        movieVoteService.vote(1L, 8);
+        when(movieVotesRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(new MovieVotes(2L, 4, 30)));
+
+        Map<Long, VoteSummary> votes = movieVoteService.getVotes(List.of(1L, 2L, 3L));
+
+        assertThat(votes).containsOnly(
+                Map.entry(1L, new VoteSummary(1L, 1, 8.0)),
+                Map.entry(2L, new VoteSummary(2L, 4, 7.5)),
+                Map.entry(3L, new VoteSummary(3L, 0, null)));
+        verify(movieVotesRepository, times(1)).findAllById(anyList());
+    }
+
+    @Test
+    void vote_shouldThrowMovieNotFoundException_whenMovieDoesNotExist() {
+        when(movieRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(MovieNotFoundException.class, () -> movieVoteService.vote(99L, 7));
+    }
+
+    @Test
+    void vote_shouldCountEveryConcurrentVote() throws Exception {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.empty());
+        int threads = 8;
+        int votesPerThread = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> voters = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                voters.add(executor.submit(() -> {
+                    for (int vote = 0; vote < votesPerThread; vote++) {
+                        movieVoteService.vote(1L, 5);
+                    }
+                }));
+            }
+            for (Future<?> voter : voters) {
+                voter.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        VoteSummary summary = movieVoteService.getVotes(1L);
+        assertThat(summary.voteCount()).isEqualTo((long) threads * votesPerThread);
+        assertThat(summary.averageScore()).isEqualTo(5.0);
+    }
+
+    @Test
+    void flush_shouldRetrySameBatch_whenWriteFails() {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        movieVoteService.vote(1L, 8);
+        movieVoteService.flush();
+        movieVoteService.vote(1L, 6);
+        movieVoteService.flush();
+
+        ArgumentCaptor<Object> flushIds = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(3)).update(startsWith("INSERT INTO vote_flushes"), flushIds.capture());
+        assertThat(flushIds.getAllValues().get(1)).isEqualTo(flushIds.getAllValues().get(0));
+        assertThat(flushIds.getAllValues().get(2)).isNotEqualTo(flushIds.getAllValues().get(0));
+        assertThat(movieVoteService.getVotes(1L).voteCount()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_shouldNotRetryDeletedMoviesVotes() {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        movieVoteService.vote(1L, 8);
+        movieVoteService.flush();
+        movieVoteService.movieDeleted(1L);
+        movieVoteService.flush();
+
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(movieVotesRepository).deleteByMovieId(1L);
+    }
+
+    @Test
+    void flush_shouldDropTalliesWithoutNewVotes_soReadsSeeOtherInstancesFlushes() {
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(movieVotesRepository.findById(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new MovieVotes(1L, 5, 40)));
+        when(transactionTemplate.execute(any())).thenReturn(Map.of());
+
+        movieVoteService.vote(1L, 8);
+        movieVoteService.flush();
+        assertThat(movieVoteService.getVotes(1L).voteCount()).isEqualTo(1);
+        movieVoteService.flush();
+
+        assertThat(movieVoteService.getVotes(1L).voteCount()).isEqualTo(5);
+        verify(movieVotesRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void movieDeleted_shouldKeepVotesInMemory_untilTheDeleteCommits() {
+        when(movieRepository.existsById(1L)).thenReturn(true, false);
+        when(movieVotesRepository.findById(1L)).thenReturn(Optional.empty());
+        movieVoteService.vote(1L, 8);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            movieVoteService.movieDeleted(1L);
+            assertThat(movieVoteService.getVotes(1L).voteCount()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThrows(MovieNotFoundException.class, () -> movieVoteService.getVotes(1L));
+    }
+}
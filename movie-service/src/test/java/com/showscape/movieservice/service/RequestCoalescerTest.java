@@ -0,0 +1,171 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.showscape.movieservice.config.ReadCoalescingProperties;
+import com.showscape.movieservice.config.ReadYourWritesContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry, new ReadCoalescingProperties(Duration.ofSeconds(5)));
+        executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldShareOneLoad_betweenConcurrentIdenticalCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute("getMovieById", 1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "Inception";
+            })));
+        }
+        waitForWaiters(7);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Inception");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("showscape.reads", "operation", "getMovieById", "outcome", "coalesced").count())
+                .isEqualTo(7);
+    }
+
+    @Test
+    void execute_shouldNotShareLoads_betweenDifferentKeys() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.execute("getMovieById", 1L, loads::incrementAndGet);
+        requestCoalescer.execute("getMovieById", 2L, loads::incrementAndGet);
+        requestCoalescer.execute("getMovieById", 1L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void execute_shouldPropagateLoaderFailure_andNotCacheIt() {
+        assertThrows(IllegalArgumentException.class, () -> requestCoalescer.execute("getMovieById", 1L, () -> {
+            throw new IllegalArgumentException("boom");
+        }));
+
+        assertThat(requestCoalescer.execute("getMovieById", 1L, () -> "Inception")).isEqualTo("Inception");
+    }
+
+    @Test
+    void execute_shouldRunOwnLoad_whenWaitTimesOut() throws Exception {
+        requestCoalescer = new RequestCoalescer(meterRegistry, new ReadCoalescingProperties(Duration.ofMillis(50)));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slow = executor.submit(() -> requestCoalescer.execute("getAllMovies", null, () -> {
+            await(release);
+            return "slow";
+        }));
+        waitForExecuted("getAllMovies");
+
+        String result = requestCoalescer.execute("getAllMovies", null, () -> "fast");
+        release.countDown();
+
+        assertThat(result).isEqualTo("fast");
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(meterRegistry.counter("showscape.reads", "operation", "getAllMovies", "outcome", "timed_out").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldNotJoinInFlightRead_whenPinnedToPrimary() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> replicaRead = executor.submit(() -> requestCoalescer.execute("getMovieById", 1L, () -> {
+            await(release);
+            return "stale";
+        }));
+        waitForExecuted("getMovieById");
+
+        ReadYourWritesContext.pinToPrimary();
+        String result;
+        try {
+            result = requestCoalescer.execute("getMovieById", 1L, () -> "fresh");
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+        release.countDown();
+
+        assertThat(result).isEqualTo("fresh");
+        assertThat(replicaRead.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(meterRegistry.counter("showscape.reads", "operation", "getMovieById", "outcome", "coalesced").count())
+                .isZero();
+    }
+
+    @Test
+    void execute_shouldNotJoinInFlightRead_thatStartedBeforeACommittedWrite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> earlierRead = executor.submit(() -> requestCoalescer.execute("getMovieById", 1L, () -> {
+            await(release);
+            return "stale";
+        }));
+        waitForExecuted("getMovieById");
+
+        requestCoalescer.writeCommitted();
+        String result = requestCoalescer.execute("getMovieById", 1L, () -> "fresh");
+        release.countDown();
+
+        assertThat(result).isEqualTo("fresh");
+        assertThat(earlierRead.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(meterRegistry.counter("showscape.reads", "operation", "getMovieById", "outcome", "coalesced").count())
+                .isZero();
+    }
+
+    private void waitForWaiters(int waiters) throws InterruptedException {
+        // Waiters are only counted once they finish, so wait for every caller to be running, then for them to block
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() < waiters + 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+    }
+
+    private void waitForExecuted(String operation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("showscape.reads", "operation", operation, "outcome", "executed").count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
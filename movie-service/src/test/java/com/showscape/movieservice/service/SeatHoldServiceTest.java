@@ -0,0 +1,215 @@
+package com.showscape.movieservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.showscape.movieservice.config.SeatHoldProperties;
+import com.showscape.movieservice.dto.SeatHoldResponse;
+import com.showscape.movieservice.dto.ShowtimeResponse;
+import com.showscape.movieservice.entity.SeatHold;
+import com.showscape.movieservice.entity.Showtime;
+import com.showscape.movieservice.exception.InvalidSeatSelectionException;
+import com.showscape.movieservice.exception.SeatHoldNotFoundException;
+import com.showscape.movieservice.exception.SeatUnavailableException;
+import com.showscape.movieservice.exception.ShowtimeNotFoundException;
+import com.showscape.movieservice.repository.MovieRepository;
+import com.showscape.movieservice.repository.SeatHoldRepository;
+import com.showscape.movieservice.repository.ShowtimeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldService = new SeatHoldService(showtimeRepository, seatHoldRepository, movieRepository, jdbcTemplate,
+                transactionTemplate, new SeatHoldProperties(Duration.ofMinutes(10), 4, Duration.ofSeconds(1),
+                Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    }
+
+    private Showtime showtime(int... soldSeats) {
+        return Showtime.builder()
+                .id(1L)
+                .movieId(7L)
+                .startsAt(Instant.now().plus(Duration.ofDays(1)))
+                .auditorium("Screen 1")
+                .seatRows(2)
+                .seatsPerRow(10)
+                .soldSeats(SeatMap.toWords(20, soldSeats))
+                .build();
+    }
+
+    private void givenShowtime(int... soldSeats) {
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime(soldSeats)));
+        when(seatHoldRepository.findByShowtimeIdAndExpiresAtAfter(eq(1L), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void holdSeats_shouldHoldFreeSeats_andRejectOverlappingHold() {
+        givenShowtime(0);
+
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(2, 1));
+
+        assertThat(hold.seats()).containsExactly(1, 2);
+        assertThat(hold.confirmed()).isFalse();
+        assertThat(hold.expiresAt()).isAfter(Instant.now());
+        assertThrows(SeatUnavailableException.class, () -> seatHoldService.holdSeats(1L, List.of(2, 3)));
+        assertThrows(SeatUnavailableException.class, () -> seatHoldService.holdSeats(1L, List.of(0)));
+        assertThat(seatHoldService.getSeatMap(1L).takenSeats()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void holdSeats_shouldRejectUnknownSeatsAndTooManySeats() {
+        givenShowtime();
+
+        assertThrows(InvalidSeatSelectionException.class, () -> seatHoldService.holdSeats(1L, List.of(20)));
+        assertThrows(InvalidSeatSelectionException.class,
+                () -> seatHoldService.holdSeats(1L, List.of(1, 2, 3, 4, 5)));
+    }
+
+    @Test
+    void release_shouldFreeSeats_andEndTheHold() {
+        givenShowtime();
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(5));
+
+        seatHoldService.release(1L, hold.holdId());
+
+        assertThat(seatHoldService.holdSeats(1L, List.of(5)).seats()).containsExactly(5);
+        assertThrows(SeatHoldNotFoundException.class, () -> seatHoldService.release(1L, hold.holdId()));
+    }
+
+    @Test
+    void confirm_shouldMarkSeatsSold() {
+        givenShowtime();
+        Showtime locked = showtime();
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(locked));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(3, 17));
+
+        SeatHoldResponse confirmed = seatHoldService.confirm(1L, hold.holdId());
+
+        assertThat(confirmed.confirmed()).isTrue();
+        assertThat(confirmed.expiresAt()).isNull();
+        assertThat(locked.getSoldSeats()).containsExactly(SeatMap.toWords(20, new int[]{3, 17}));
+        assertThrows(SeatHoldNotFoundException.class, () -> seatHoldService.confirm(1L, hold.holdId()));
+    }
+
+    @Test
+    void confirm_shouldThrowSeatUnavailableException_whenSeatWasSoldElsewhere() {
+        givenShowtime();
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime(17)));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(3, 17));
+
+        assertThrows(SeatUnavailableException.class, () -> seatHoldService.confirm(1L, hold.holdId()));
+    }
+
+    @Test
+    void confirm_shouldFreeUnsoldSeats_andMarkSeatsSoldElsewhereTaken_whenSeatWasSoldElsewhere() {
+        givenShowtime();
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime(12, 17)));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(3, 17));
+
+        assertThrows(SeatUnavailableException.class, () -> seatHoldService.confirm(1L, hold.holdId()));
+
+        assertThat(seatHoldService.getSeatMap(1L).takenSeats()).containsExactly(12, 17);
+        assertThat(seatHoldService.holdSeats(1L, List.of(3)).seats()).containsExactly(3);
+    }
+
+    @Test
+    void confirm_shouldThrowSeatHoldNotFoundException_forHoldOfAnotherShowtime() {
+        givenShowtime();
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(3));
+
+        assertThrows(SeatHoldNotFoundException.class, () -> seatHoldService.confirm(2L, hold.holdId()));
+        seatHoldService.release(1L, hold.holdId());
+    }
+
+    @Test
+    void movieDeleted_shouldDeleteShowtimes_andForgetTheirSeatMapsAndHolds() {
+        givenShowtime();
+        SeatHoldResponse hold = seatHoldService.holdSeats(1L, List.of(4));
+
+        seatHoldService.movieDeleted(7L);
+
+        verify(jdbcTemplate).update(startsWith("WITH deleted AS (DELETE FROM showtimes"), eq(7L));
+        assertThrows(SeatHoldNotFoundException.class, () -> seatHoldService.release(1L, hold.holdId()));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.empty());
+        assertThrows(ShowtimeNotFoundException.class, () -> seatHoldService.holdSeats(1L, List.of(4)));
+    }
+
+    @Test
+    void seatMap_shouldRestorePersistedHolds() {
+        UUID holdId = UUID.randomUUID();
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime(0)));
+        when(seatHoldRepository.findByShowtimeIdAndExpiresAtAfter(eq(1L), any())).thenReturn(List.of(
+                new SeatHold(holdId, 1L, new int[]{8, 9}, Instant.now().plus(Duration.ofMinutes(5)))));
+
+        assertThat(seatHoldService.getSeatMap(1L).takenSeats()).containsExactly(0, 8, 9);
+
+        seatHoldService.release(1L, holdId);
+        assertThat(seatHoldService.getSeatMap(1L).takenSeats()).containsExactly(0);
+    }
+
+    @Test
+    void getShowtimesForMovies_shouldLoadUncachedSeatMapsWithOneHoldQuery() {
+        Showtime first = showtime(0);
+        Showtime second = Showtime.builder().id(2L).movieId(8L).startsAt(first.getStartsAt()).auditorium("Screen 2")
+                .seatRows(1).seatsPerRow(5).soldSeats(new long[1]).build();
+        when(showtimeRepository.findByMovieIdInOrderByStartsAt(List.of(7L, 8L))).thenReturn(List.of(first, second));
+        when(seatHoldRepository.findByShowtimeIdInAndExpiresAtAfter(eq(List.of(1L, 2L)), any())).thenReturn(List.of(
+                new SeatHold(UUID.randomUUID(), 2L, new int[]{3}, Instant.now().plus(Duration.ofMinutes(5)))));
+
+        Map<Long, List<ShowtimeResponse>> showtimes = seatHoldService.getShowtimesForMovies(List.of(7L, 8L));
+        seatHoldService.getShowtimesForMovies(List.of(7L, 8L));
+
+        assertThat(showtimes.get(7L)).singleElement().extracting(ShowtimeResponse::availableSeats).isEqualTo(19);
+        assertThat(showtimes.get(8L)).singleElement().extracting(ShowtimeResponse::availableSeats).isEqualTo(4);
+        verify(seatHoldRepository, times(1)).findByShowtimeIdInAndExpiresAtAfter(any(), any());
+        verify(showtimeRepository, never()).findById(anyLong());
+    }
+}
@@ -0,0 +1,97 @@
+package com.showscape.movieservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeatMapTest {
+
+    @Test
+    void tryTake_shouldTakeAllSeatsOrNone() {
+        SeatMap seatMap = new SeatMap(130, new long[0]);
+
+        assertThat(seatMap.tryTake(new int[]{1, 64, 129})).isTrue();
+        assertThat(seatMap.tryTake(new int[]{0, 65, 129})).isFalse();
+
+        assertThat(seatMap.takenSeats()).containsExactly(1, 64, 129);
+        assertThat(seatMap.availableSeats()).isEqualTo(127);
+    }
+
+    @Test
+    void release_shouldFreeSeats() {
+        SeatMap seatMap = new SeatMap(10, new long[0]);
+        seatMap.tryTake(new int[]{2, 3});
+
+        seatMap.release(new int[]{2, 3});
+
+        assertThat(seatMap.isTaken(2)).isFalse();
+        assertThat(seatMap.tryTake(new int[]{2, 3})).isTrue();
+    }
+
+    @Test
+    void constructor_shouldStartWithGivenSeatsTaken() {
+        SeatMap seatMap = new SeatMap(100, SeatMap.toWords(100, new int[]{5, 70}));
+
+        assertThat(seatMap.takenSeats()).containsExactly(5, 70);
+        assertThat(seatMap.tryTake(new int[]{70})).isFalse();
+    }
+
+    @Test
+    void toWords_shouldRejectSeatsOutsideTheShowtime() {
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.toWords(100, new int[]{100}));
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.toWords(100, new int[]{-1}));
+    }
+
+    @Test
+    void tryTake_shouldNeverGiveOneSeatToTwoBuyers() throws Exception {
+        int capacity = 300;
+        int buyers = 5_000;
+        SeatMap seatMap = new SeatMap(capacity, new long[0]);
+        ConcurrentLinkedQueue<int[]> holds = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int buyer = 0; buyer < buyers; buyer++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    // Adjacent seats, often straddling two bitset words
+                    int first = ThreadLocalRandom.current().nextInt(capacity - 3);
+                    int[] seats = {first, first + 1, first + 2};
+                    if (seatMap.tryTake(seats)) {
+                        holds.add(seats);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        boolean[] owned = new boolean[capacity];
+        int heldSeats = 0;
+        for (int[] seats : holds) {
+            for (int seat : seats) {
+                assertThat(owned[seat]).as("seat %d held twice", seat).isFalse();
+                owned[seat] = true;
+                heldSeats++;
+            }
+        }
+        assertThat(seatMap.availableSeats()).isEqualTo(capacity - heldSeats);
+        for (int seat = 0; seat < capacity; seat++) {
+            assertThat(seatMap.isTaken(seat)).isEqualTo(owned[seat]);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.showscape.movieservice.service;
+
+import com.showscape.movieservice.dto.MovieResponse;
+import com.showscape.movieservice.entity.Genre;
+import com.showscape.movieservice.entity.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+
+    private final Genre sciFi = new Genre((short) 1, "Sci-Fi");
+    private final Genre drama = new Genre((short) 2, "Drama");
+    private final Genre comedy = new Genre((short) 3, "Comedy");
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private Movie movie(long id, String title, String description, int year, double rating, Genre... genres) {
+        return Movie.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .releaseDate(LocalDate.of(year, 1, 1))
+                .genres(new ArrayList<>(List.of(genres)))
+                .rating(rating)
+                .build();
+    }
+
+    private List<Movie> catalog() {
+        return List.of(
+                movie(1, "Interstellar", "Astronauts travel through a wormhole in search of a new home.", 2014, 8.6, sciFi, drama),
+                movie(2, "Gravity", "Astronauts stranded in space after their shuttle is destroyed.", 2013, 7.7, sciFi, drama),
+                movie(3, "The Martian", "An astronaut stranded on Mars must survive alone.", 2015, 8.0, sciFi),
+                movie(4, "Superbad", "Two high school friends try to get to a party.", 2007, 7.6, comedy),
+                movie(5, "The Hangover", "Three friends lose the groom at a party in Las Vegas.", 2009, 7.7, comedy));
+    }
+
+    private List<Long> ids(List<MovieResponse> movies) {
+        return movies.stream().map(MovieResponse::id).toList();
+    }
+
+    @Test
+    void similarTo_shouldRankMoviesSharingWordsAndGenresFirst() {
+        SimilarityIndex index = SimilarityIndex.build(catalog(), 10, pool);
+
+        assertThat(ids(index.similarTo(2L, 10).orElseThrow())).containsExactly(1L, 3L);
+        assertThat(ids(index.similarTo(4L, 10).orElseThrow())).containsExactly(5L);
+        assertThat(index.similarTo(99L, 10)).isEmpty();
+    }
+
+    @Test
+    void similarTo_shouldKeepAtMostTheConfiguredNeighbors() {
+        SimilarityIndex index = SimilarityIndex.build(catalog(), 1, pool);
+
+        assertThat(index.similarTo(1L, 10).orElseThrow()).hasSize(1);
+        assertThat(index.similarTo(1L, 0).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void upsert_shouldAddMovieToItsNeighborsLists() {
+        SimilarityIndex index = SimilarityIndex.build(catalog(), 10, pool);
+
+        index.upsert(movie(6, "Stranded on Mars", "An astronaut stranded on Mars grows potatoes to survive.",
+                2016, 8.0, sciFi));
+
+        assertThat(ids(index.similarTo(6L, 1).orElseThrow())).containsExactly(3L);
+        assertThat(ids(index.similarTo(3L, 1).orElseThrow())).containsExactly(6L);
+    }
+
+    @Test
+    void upsert_shouldMoveChangedMovieBetweenNeighborsLists() {
+        SimilarityIndex index = SimilarityIndex.build(catalog(), 10, pool);
+
+        index.upsert(movie(3, "Road Trip", "Friends drive across the country to a party.", 2000, 6.5, comedy));
+
+        assertThat(ids(index.similarTo(2L, 10).orElseThrow())).containsExactly(1L);
+        assertThat(ids(index.similarTo(4L, 10).orElseThrow())).contains(3L);
+    }
+
+    @Test
+    void delete_shouldRemoveMovieFromEveryList() {
+        SimilarityIndex index = SimilarityIndex.build(catalog(), 10, pool);
+
+        index.delete(1L);
+
+        assertThat(index.similarTo(1L, 10)).isEmpty();
+        assertThat(ids(index.similarTo(2L, 10).orElseThrow())).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void build_shouldMatchIncrementalInsertsForLargeCatalog() {
+        List<Movie> movies = new ArrayList<>();
+        String[] words = {"heist", "space", "robot", "love", "war", "ghost", "island", "detective"};
+        for (long id = 1; id <= 500; id++) {
+            String description = words[(int) (id % words.length)] + " " + words[(int) (id * 7 % words.length)];
+            movies.add(movie(id, "Movie " + id, description, 1980 + (int) (id % 40), id % 10,
+                    id % 2 == 0 ? sciFi : drama));
+        }
+        SimilarityIndex built = SimilarityIndex.build(movies, 5, pool);
+
+        for (long id = 1; id <= 500; id++) {
+            assertThat(built.similarTo(id, 5).orElseThrow()).hasSize(5)
+                    .extracting(MovieResponse::id).doesNotContain(id);
+        }
+    }
+}
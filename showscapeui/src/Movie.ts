@@ -1,8 +1,9 @@
 export interface Movie {
     id: number;
     title: string;
-    description: string;
+    description?: string; // Omitted by list endpoints that request a sparse fieldset
     releaseDate: string;
-    genre: string;
+    genre: string; // Primary genre
+    genres?: string[];
     rating: number;
 }
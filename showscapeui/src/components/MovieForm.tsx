@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { type MovieRequest } from '../dto/MovieRequest';
 import { type Movie } from '../Movie';
 
@@ -19,12 +19,14 @@ const MovieForm: React.FC<MovieFormProps> = ({ initialMovie, onMovieAdded, onMov
   });
   const [error, setError] = useState<string | null>(null);
   const [successMessage, setSuccessMessage] = useState<string | null>(null);
+  // Reused by every resubmission of the same new movie, so a retry after a lost response creates it only once
+  const idempotencyKey = useRef<string>(crypto.randomUUID());
 
   useEffect(() => {
     if (initialMovie) {
       setFormData({
         title: initialMovie.title,
-        description: initialMovie.description,
+        description: initialMovie.description ?? '',
         releaseDate: initialMovie.releaseDate, // Assuming YYYY-MM-DD string
         genre: initialMovie.genre,
         rating: initialMovie.rating,
@@ -42,6 +44,7 @@ const MovieForm: React.FC<MovieFormProps> = ({ initialMovie, onMovieAdded, onMov
 
   const handleChange = (e: React.ChangeEvent<HTMLInputElement | HTMLTextAreaElement>) => {
     const { name, value } = e.target;
+    idempotencyKey.current = crypto.randomUUID(); // A changed movie is a new request
     setFormData((prevData) => ({
       ...prevData,
       [name]: name === 'rating' ? parseFloat(value) : value,
@@ -62,6 +65,7 @@ const MovieForm: React.FC<MovieFormProps> = ({ initialMovie, onMovieAdded, onMov
         method: method,
         headers: {
           'Content-Type': 'application/json',
+          ...(isEditing ? {} : { 'Idempotency-Key': idempotencyKey.current }),
         },
         body: JSON.stringify(formData),
       });
@@ -72,7 +76,7 @@ const MovieForm: React.FC<MovieFormProps> = ({ initialMovie, onMovieAdded, onMov
           const validationErrors = errorData.details.map((detail: any) => `${detail.field}: ${detail.message}`).join('; ');
           throw new Error(`Validation failed: ${validationErrors}`);
         } else {
-          throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+          throw new Error(errorData.detail || `HTTP error! status: ${response.status}`);
         }
       }
 
@@ -81,6 +85,7 @@ const MovieForm: React.FC<MovieFormProps> = ({ initialMovie, onMovieAdded, onMov
         if (onMovieUpdated) onMovieUpdated();
       } else {
         setSuccessMessage('Movie added successfully!');
+        idempotencyKey.current = crypto.randomUUID();
         setFormData({
           title: '',
           description: '',
@@ -17,7 +17,7 @@ const EditMoviePage: React.FC = () => {
         const response = await fetch(`http://localhost:8080/api/movies/${id}`);
         if (!response.ok) {
           const errorData = await response.json();
-          throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+          throw new Error(errorData.detail || `HTTP error! status: ${response.status}`);
         }
         const data: Movie = await response.json();
         setMovieToEdit(data);
@@ -2,6 +2,9 @@ import { useEffect, useState, useCallback } from 'react';
 import type { Movie } from '../Movie';
 import useDebounce from '../hooks/useDebounce';
 
+const LIST_FIELDS = 'id,title,description,genre,releaseDate,rating';
+const FILTER_OPTIONS_QUERY = '{ genres years }';
+
 interface MovieListPageProps {
   onEditMovie: (movie: Movie) => void;
 }
@@ -30,12 +33,14 @@ const MovieListPage: React.FC<MovieListPageProps> = ({ onEditMovie }) => {
     } else if (debouncedYearFilter) {
       url = `http://localhost:8080/api/movies/year/${debouncedYearFilter}`;
     }
+    // Request only the columns the list shows and the edit form needs
+    url += `?fields=${LIST_FIELDS}`;
 
     try {
       const response = await fetch(url);
       if (!response.ok) {
         const errorData = await response.json();
-        throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+        throw new Error(errorData.detail || `HTTP error! status: ${response.status}`);
       }
       const data: Movie[] = await response.json();
       setMovies(data);
@@ -48,13 +53,18 @@ const MovieListPage: React.FC<MovieListPageProps> = ({ onEditMovie }) => {
 
   const fetchFilterOptions = useCallback(async () => {
     try {
-      const genresResponse = await fetch('http://localhost:8080/api/movies/genres');
-      const genresData: string[] = await genresResponse.json();
-      setAvailableGenres(genresData);
-
-      const yearsResponse = await fetch('http://localhost:8080/api/movies/years');
-      const yearsData: number[] = await yearsResponse.json();
-      setAvailableYears(yearsData);
+      // Both option lists in one round trip
+      const response = await fetch('http://localhost:8080/graphql', {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ query: FILTER_OPTIONS_QUERY }),
+      });
+      const { data, errors } = await response.json();
+      if (errors?.length) {
+        throw new Error(errors[0].message);
+      }
+      setAvailableGenres(data.genres);
+      setAvailableYears(data.years);
     } catch (err: any) {
       console.error('Failed to fetch filter options:', err);
       // Optionally set an error state for filter options
@@ -75,7 +85,7 @@ const MovieListPage: React.FC<MovieListPageProps> = ({ onEditMovie }) => {
 
         if (!response.ok) {
           const errorData = await response.json();
-          throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+          throw new Error(errorData.detail || `HTTP error! status: ${response.status}`);
         }
 
         fetchMovies(); // Refresh the movie list after deletion